@@ -0,0 +1,69 @@
+package com.example.user_employee_management_backend.bench;
+
+import com.example.user_employee_management_backend.security.AuthTokenFilter;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request authentication cost of AuthTokenFilter: reading the bearer header (parseJwt),
+ * verifying the token, the principal cache hit and building the security context.
+ * The cache is warm, as it is for an active user, so no database lookup is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "bench.user@example.com", "bench.user@example.com",
+                "n/a", false, true, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+        var jwtUtils = JwtVerificationBenchmark.newJwtUtils();
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        UserPrincipalCache cache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000);
+        ReflectionTestUtils.setField(cache, "ttlMs", TimeUnit.HOURS.toMillis(1));
+        cache.get(principal.getUsername(), username -> principal);
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "principalCache", cache);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/leave/my-requests");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        filter.doFilter(request, response, NO_OP);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.user_employee_management_backend.bench;
+
+import com.example.user_employee_management_backend.dto.EmployeeSummaryDto;
+import com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto;
+import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.service.WorkingDayCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mappers run for every row of a listing, and the num_days calculation run
+ * whenever a leave request is saved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class DtoMappingBenchmark {
+
+    private Employee employee;
+    private LeaveRequest leaveRequest;
+    private LeaveBalance leaveBalance;
+    private WorkingDayCalendar calendar;
+
+    @Setup
+    public void setUp() {
+        employee = new Employee();
+        employee.setId(42L);
+        employee.setName("Bench Employee");
+        employee.setEmail("bench.employee@example.com");
+        employee.setDepartment("Engineering");
+        employee.setStatus(EmployeeStatus.ACTIVE);
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setId(3L);
+        leaveType.setName("Annual");
+        leaveType.setDefaultDays(20);
+
+        leaveRequest = new LeaveRequest(employee, leaveType, LocalDate.of(2026, 7, 6), LocalDate.of(2026, 7, 17),
+                "Summer holiday", LeaveStatus.PENDING);
+        leaveRequest.setId(1001L);
+
+        leaveBalance = new LeaveBalance();
+        leaveBalance.setId(7L);
+        leaveBalance.setEmployee(employee);
+        leaveBalance.setLeaveType(leaveType);
+        leaveBalance.setRemainingDays(12);
+
+        calendar = WorkingDayCalendarBenchmark.newCalendar();
+        // Computes the year once, as in a running service.
+        leaveRequest.setNumDays(calendar.workingDaysBetween(leaveRequest.getStartDate(), leaveRequest.getEndDate()));
+    }
+
+    @Benchmark
+    public LeaveRequestResponseDto leaveRequestResponseDto() {
+        return LeaveRequestResponseDto.fromEntity(leaveRequest);
+    }
+
+    @Benchmark
+    public EmployeeSummaryDto employeeSummaryDto() {
+        return EmployeeSummaryDto.fromEntity(employee);
+    }
+
+    @Benchmark
+    public LeaveBalanceResponseDto leaveBalanceResponseDto() {
+        return LeaveBalanceResponseDto.fromEntity(leaveBalance);
+    }
+
+    @Benchmark
+    public long calculateNumDays() {
+        return calendar.workingDaysBetween(leaveRequest.getStartDate(), leaveRequest.getEndDate());
+    }
+}
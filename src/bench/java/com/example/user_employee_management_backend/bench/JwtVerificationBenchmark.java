@@ -0,0 +1,71 @@
+package com.example.user_employee_management_backend.bench;
+
+import com.example.user_employee_management_backend.security.JwtClaims;
+import com.example.user_employee_management_backend.security.JwtUtils;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified (and issued) per second on a single thread (i.e. per core).
+ * "legacy" reproduces the old request path: the key and parser are rebuilt and the
+ * signature is verified twice, once to validate the token and again to read its subject.
+ * "singleParse" is the current JwtUtils.parseJwtToken path; "generate" is the login path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1vbmx5LXNlY3JldC1mb3ItaHMyNTYtc2lnbmluZw==";
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = newJwtUtils();
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "bench.user@example.com", "bench.user@example.com",
+                "n/a", false, true, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    static JwtUtils newJwtUtils() {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.invokeMethod(utils, "init");
+        return utils;
+    }
+
+    @Benchmark
+    public String legacy() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return jwtUtils.parseJwtToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+}
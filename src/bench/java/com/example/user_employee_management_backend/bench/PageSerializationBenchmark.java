@@ -0,0 +1,51 @@
+package com.example.user_employee_management_backend.bench;
+
+import com.example.user_employee_management_backend.dto.EmployeeSummaryDto;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the HR employee listing (GET /api/dashboard/employees), a
+ * Page of EmployeeSummaryDto, at the default page size and at a large one.
+ * The mapper is built like Spring Boot's (Jackson2ObjectMapperBuilder defaults).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<EmployeeSummaryDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<EmployeeSummaryDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new EmployeeSummaryDto((long) i, "Employee " + i, "employee" + i + "@example.com",
+                    "Department " + (i % 8), EmployeeStatus.ACTIVE));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
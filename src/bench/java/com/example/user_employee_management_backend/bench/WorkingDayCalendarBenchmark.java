@@ -0,0 +1,79 @@
+package com.example.user_employee_management_backend.bench;
+
+import com.example.user_employee_management_backend.service.WorkingDayCalendar;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Working days counted in a leave range, as charged against balances.
+ * "naive" walks the range a day at a time, checking the weekend and the holiday set;
+ * "calendar" is WorkingDayCalendar.workingDaysBetween (per-year prefix sums).
+ * Run for a two-week leave and for multi-year ranges (e.g. reporting over an employment history).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class WorkingDayCalendarBenchmark {
+
+    private static final List<String> HOLIDAYS = List.of("2026-04-03", "2026-04-06", "2027-03-26", "2027-03-29");
+    private static final List<String> RECURRING = List.of("01-01", "05-01", "12-25", "12-26");
+
+    @Param({"14", "1095", "3650"})
+    public int rangeDays;
+
+    private WorkingDayCalendar calendar;
+    private Set<LocalDate> holidays;
+    private Set<MonthDay> recurring;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        calendar = newCalendar();
+        holidays = Set.copyOf(HOLIDAYS.stream().map(LocalDate::parse).toList());
+        recurring = Set.copyOf(RECURRING.stream().map(d -> MonthDay.parse("--" + d)).toList());
+        from = LocalDate.of(2026, 3, 16);
+        to = from.plusDays(rangeDays - 1);
+        calendar.workingDaysBetween(from, to); // Years are computed on first use, not per call.
+    }
+
+    static WorkingDayCalendar newCalendar() {
+        WorkingDayCalendar calendar = new WorkingDayCalendar();
+        ReflectionTestUtils.setField(calendar, "weekendDays", List.of("SATURDAY", "SUNDAY"));
+        ReflectionTestUtils.setField(calendar, "holidays", HOLIDAYS);
+        ReflectionTestUtils.setField(calendar, "recurringHolidays", RECURRING);
+        ReflectionTestUtils.invokeMethod(calendar, "init");
+        return calendar;
+    }
+
+    @Benchmark
+    public long naive() {
+        long days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            switch (day.getDayOfWeek()) {
+                case SATURDAY, SUNDAY -> { }
+                default -> {
+                    if (!holidays.contains(day) && !recurring.contains(MonthDay.from(day))) {
+                        days++;
+                    }
+                }
+            }
+        }
+        return days;
+    }
+
+    @Benchmark
+    public long calendar() {
+        return calendar.workingDaysBetween(from, to);
+    }
+}
@@ -1,15 +1,14 @@
 package com.example.user_employee_management_backend;
 
-import com.example.user_employee_management_backend.model.*;
-import com.example.user_employee_management_backend.repository.*;
+import com.example.user_employee_management_backend.service.LeaveBalanceProvisioningService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import java.util.List;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class UserEmployeeManagementBackendApplication {
 
 	public static void main(String[] args) {
@@ -18,31 +17,17 @@ public class UserEmployeeManagementBackendApplication {
 	}
 
 	@Bean
-	CommandLineRunner run(UserRepository userRepository,
-						  EmployeeRepository employeeRepository,
-						  LeaveTypeRepository leaveTypeRepository,
-						  LeaveBalanceRepository leaveBalanceRepository,
-						  PasswordEncoder passwordEncoder) {
+	CommandLineRunner run(LeaveBalanceProvisioningService leaveBalanceProvisioningService) {
 		return args -> {
 			System.out.println("***** STARTING DATABASE SEEDING PROCESS *****");
 
 			// ... (All the logic for creating admin user and leave types) ...
 
-			// Ensure all employees have leave balances
-			List<LeaveType> allLeaveTypes = leaveTypeRepository.findAll();
-			List<Employee> allEmployees = employeeRepository.findAll();
-			for (Employee employee : allEmployees) {
-				for (LeaveType leaveType : allLeaveTypes) {
-					if (leaveBalanceRepository.findByEmployeeAndLeaveType(employee, leaveType).isEmpty()) {
-						LeaveBalance newBalance = new LeaveBalance();
-						newBalance.setEmployee(employee);
-						newBalance.setLeaveType(leaveType);
-						newBalance.setRemainingDays(leaveType.getDefaultDays());
-						leaveBalanceRepository.save(newBalance);
-						System.out.println("Created " + leaveType.getName() + " balance for employee: " + employee.getName());
-					}
-				}
-			}
+			// Ensure all employees have leave balances (one set-based insert of the missing pairs)
+			long start = System.nanoTime();
+			int created = leaveBalanceProvisioningService.provisionMissingBalances();
+			long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+			System.out.println("Created " + created + " missing leave balances in " + elapsedMs + " ms");
 			System.out.println("***** DATABASE SEEDING PROCESS COMPLETE *****");
 		};
 	}
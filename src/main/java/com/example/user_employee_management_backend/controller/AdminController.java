@@ -1,12 +1,25 @@
 package com.example.user_employee_management_backend.controller;
 
 import com.example.user_employee_management_backend.dto.AdminDashboardStatsDto;
+import com.example.user_employee_management_backend.dto.CursorPageDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeRequest;
+import com.example.user_employee_management_backend.dto.PrincipalCacheStatsDto;
 import com.example.user_employee_management_backend.dto.UserCreateRequest;
 import com.example.user_employee_management_backend.dto.UserDto;
 import com.example.user_employee_management_backend.payload.response.MessageResponse;
+import com.example.user_employee_management_backend.security.PasswordHashingBusyException;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
+import com.example.user_employee_management_backend.service.CsvExportService;
+import com.example.user_employee_management_backend.service.DashboardService;
+import com.example.user_employee_management_backend.service.LeaveTypeCatalog;
+import com.example.user_employee_management_backend.service.LeaveTypeService;
+import com.example.user_employee_management_backend.service.LiveUpdateBroadcaster;
+import com.example.user_employee_management_backend.service.ResourceVersions;
 import com.example.user_employee_management_backend.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 
@@ -14,14 +27,18 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +54,24 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @Autowired
+    private LiveUpdateBroadcaster liveUpdateBroadcaster;
+
+    @Autowired
+    private LeaveTypeService leaveTypeService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     /**
      * Endpoint for an Admin to create a new user (HR or Manager).
      */
@@ -49,6 +84,8 @@ public class AdminController {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         } catch (DataIntegrityViolationException e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: A user with that username or email already exists."));
+        } catch (PasswordHashingBusyException e) {
+            return RetryLater.response(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfterSeconds());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -58,12 +95,42 @@ public class AdminController {
 
     /**
      * Endpoint to fetch statistics for the Admin Dashboard homepage.
+     * Answered with 304 while the dashboard counters have not changed since the client's ETag.
      */
     @GetMapping("/dashboard/stats")
-    public ResponseEntity<AdminDashboardStatsDto> getDashboardStats() {
+    public ResponseEntity<AdminDashboardStatsDto> getDashboardStats(WebRequest request) {
+        if (ConditionalGet.notModified(request, dashboardService.getAdminDashboardStatsTag())) {
+            return null;
+        }
         return ResponseEntity.ok(userService.getAdminDashboardStats());
     }
 
+    /**
+     * Server-Sent Events stream of the Admin Dashboard: a "snapshot" event with the current
+     * stats, then "delta" events with the changed figures as accounts change.
+     */
+    @GetMapping(value = "/dashboard/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardStats() {
+        try {
+            return liveUpdateBroadcaster.subscribe(
+                    LiveUpdateBroadcaster.Channel.ADMIN_DASHBOARD, userService.getAdminDashboardStats());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to fetch hit/miss counters of the authenticated-principal cache.
+     */
+    @GetMapping("/security/principal-cache")
+    public ResponseEntity<PrincipalCacheStatsDto> getPrincipalCacheStats() {
+        return ResponseEntity.ok(new PrincipalCacheStatsDto(
+                principalCache.getHitCount(),
+                principalCache.getMissCount(),
+                principalCache.getEvictionCount(),
+                principalCache.getSize()));
+    }
+
     /**
      * Endpoint to fetch a paginated list of all non-admin users.
      * Accessed using: /api/admin/users?page=0&size=5
@@ -74,6 +141,25 @@ public class AdminController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Cursor-based variant of the user list, selected by passing a 'cursor' parameter
+     * (empty for the first page). The total count is skipped unless includeTotal=true.
+     * Accessed using: /api/admin/users?cursor=&size=20&sort=username
+     */
+    @GetMapping(value = "/users", params = "cursor")
+    public ResponseEntity<?> scrollUsers(@RequestParam String cursor,
+                                         @RequestParam(defaultValue = "20") int size,
+                                         @RequestParam(defaultValue = "username") String sort,
+                                         @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageDto<UserDto> users = userService.scrollManageableUsers(
+                    cursor, Math.min(Math.max(size, 1), 100), sort, includeTotal);
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Endpoint to enable or disable a user's account.
      */
@@ -93,27 +179,73 @@ public class AdminController {
 
     /**
      * Endpoint to export all users to a CSV file.
+     * The file is streamed page by page; pass gzip=true for a compressed download.
      */
     @GetMapping("/users/export")
-    public void exportUsersToCSV(HttpServletResponse response) throws IOException {
-        response.setContentType("text/csv");
-        response.setHeader("Content-Disposition", "attachment; filename=users.csv");
-
-        List<UserDto> users = userService.getManageableUsers(Pageable.unpaged()).getContent();
-
-        PrintWriter writer = response.getWriter();
-        writer.println("ID,Username,Email,Role,Enabled");
-
-        for (UserDto user : users) {
-            writer.println(String.format("%d,%s,%s,%s,%b",
-                    user.id(),
-                    user.username(),
-                    user.email(),
-                    user.role().name(),
-                    user.enabled()));
+    public void exportUsersToCSV(@RequestParam(defaultValue = "false") boolean gzip,
+                                 HttpServletResponse response) throws IOException {
+        response.setContentType(gzip ? "application/gzip" : "text/csv");
+        response.setHeader("Content-Disposition", "attachment; filename=users.csv" + (gzip ? ".gz" : ""));
+
+        try (Writer writer = csvExportService.openWriter(response.getOutputStream(), gzip)) {
+            csvExportService.writeUsersCsv(writer);
+        }
+    }
+
+    /**
+     * Endpoint to list the leave types.
+     */
+    @GetMapping("/leave-types")
+    public ResponseEntity<List<LeaveTypeDto>> getLeaveTypes(WebRequest request) {
+        LeaveTypeCatalog.Snapshot snapshot = leaveTypeService.getLeaveTypeSnapshot();
+        if (ConditionalGet.notModified(request, resourceVersions.leaveTypesTag(snapshot.version()))) {
+            return null;
+        }
+        return ResponseEntity.ok(snapshot.types());
+    }
+
+    /**
+     * Endpoint to create a leave type. Every existing employee gets a balance of its default days.
+     */
+    @PostMapping("/leave-types")
+    public ResponseEntity<?> createLeaveType(@Valid @RequestBody LeaveTypeRequest request) {
+        try {
+            return ResponseEntity.ok(leaveTypeService.createLeaveType(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: A leave type with that name already exists."));
         }
+    }
 
-        writer.flush();
-        writer.close();
+    /**
+     * Endpoint to rename a leave type or change its default days (existing balances are kept).
+     */
+    @PutMapping("/leave-types/{id}")
+    public ResponseEntity<?> updateLeaveType(@PathVariable Long id, @Valid @RequestBody LeaveTypeRequest request) {
+        try {
+            return ResponseEntity.ok(leaveTypeService.updateLeaveType(id, request));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: A leave type with that name already exists."));
+        }
+    }
+
+    /**
+     * Endpoint to delete an unused leave type together with its balances.
+     */
+    @DeleteMapping("/leave-types/{id}")
+    public ResponseEntity<?> deleteLeaveType(@PathVariable Long id) {
+        try {
+            leaveTypeService.deleteLeaveType(id);
+            return ResponseEntity.ok(new MessageResponse("Leave type deleted successfully."));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
     }
 }
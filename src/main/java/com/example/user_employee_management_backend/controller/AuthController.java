@@ -6,9 +6,11 @@ import com.example.user_employee_management_backend.dto.LoginRequest;
 import com.example.user_employee_management_backend.dto.ResetPasswordRequest;
 import com.example.user_employee_management_backend.payload.response.MessageResponse; // NEW IMPORT
 import com.example.user_employee_management_backend.security.JwtUtils;
+import com.example.user_employee_management_backend.security.PasswordHashingBusyException;
 import com.example.user_employee_management_backend.security.UserDetailsImpl;
 import com.example.user_employee_management_backend.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -84,6 +86,9 @@ public class AuthController {
             return ResponseEntity
                     .status(401)
                     .body(new MessageResponse("Error: User not found."));
+        } catch (PasswordHashingBusyException e) {
+            // Password verification is saturated (see PasswordHashingService); ask the client to retry.
+            return RetryLater.response(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfterSeconds());
         } catch (Exception e) {
             // Catch any other unexpected exceptions during the process
             return ResponseEntity
@@ -95,7 +100,11 @@ public class AuthController {
     @PostMapping("/reset-password")
     public ResponseEntity<?> resetPassword(@RequestBody ResetPasswordRequest resetPasswordRequest) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        authService.resetPassword(username, resetPasswordRequest);
+        try {
+            authService.resetPassword(username, resetPasswordRequest);
+        } catch (PasswordHashingBusyException e) {
+            return RetryLater.response(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfterSeconds());
+        }
         return ResponseEntity.ok(new MessageResponse("Password has been reset successfully. Please log in again."));
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.user_employee_management_backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for the read endpoints whose content has a cheap version (see ResourceVersions).
+ * The ETag is computed before anything is loaded, so a matching If-None-Match is answered with
+ * 304 without touching the database. The handler returns null in that case.
+ */
+final class ConditionalGet {
+
+    // Clients may keep the response but must revalidate it on every use; the default
+    // no-store of Spring Security would prevent revalidation altogether.
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Sets the ETag and Cache-Control headers and evaluates If-None-Match.
+     *
+     * @param etag the strong ETag of the current content, or null when it has no version
+     *             (the request is then served normally)
+     * @return true if the response has been turned into a 304
+     */
+    static boolean notModified(WebRequest request, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -1,19 +1,39 @@
 package com.example.user_employee_management_backend.controller;
 
+import com.example.user_employee_management_backend.dto.CursorPageDto;
 import com.example.user_employee_management_backend.dto.DashboardStatsDto;
+import com.example.user_employee_management_backend.dto.EmployeeImportReportDto;
 import com.example.user_employee_management_backend.dto.EmployeeOnboardRequestDto;
 import com.example.user_employee_management_backend.dto.EmployeeSummaryDto;
 import com.example.user_employee_management_backend.model.Employee;
 import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.security.PasswordHashingBusyException;
 import com.example.user_employee_management_backend.service.DashboardService;
+import com.example.user_employee_management_backend.service.CsvExportService;
+import com.example.user_employee_management_backend.service.EmployeeImportService;
 import com.example.user_employee_management_backend.service.EmployeeService;
+import com.example.user_employee_management_backend.service.LiveUpdateBroadcaster;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -26,11 +46,38 @@ public class HrDashboardController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    @Autowired
+    private LiveUpdateBroadcaster liveUpdateBroadcaster;
+
+    // 304 while the dashboard counters have not changed since the client's ETag.
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsDto> getDashboardStats() {
+    public ResponseEntity<DashboardStatsDto> getDashboardStats(WebRequest request) {
+        if (ConditionalGet.notModified(request, dashboardService.getDashboardStatsTag())) {
+            return null;
+        }
         return ResponseEntity.ok(dashboardService.getDashboardStats());
     }
 
+    /**
+     * Server-Sent Events stream of the dashboard: a "snapshot" event with the current stats,
+     * then "delta" events with the changed figures (keyed by field name) as they change.
+     */
+    @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardStats() {
+        try {
+            return liveUpdateBroadcaster.subscribe(
+                    LiveUpdateBroadcaster.Channel.HR_DASHBOARD, dashboardService.getDashboardStats());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @GetMapping("/employees")
     public ResponseEntity<Page<EmployeeSummaryDto>> getEmployees(
             @RequestParam(required = false) String department,
@@ -42,23 +89,88 @@ public class HrDashboardController {
 
         // 2. THIS IS THE FIX: Use the .map() function of the Page object to convert
         //    each Employee entity into an EmployeeSummaryDto.
-        Page<EmployeeSummaryDto> dtoPage = employeePage.map(this::convertToSummaryDto);
+        Page<EmployeeSummaryDto> dtoPage = employeePage.map(EmployeeSummaryDto::fromEntity);
 
         // 3. Return the new Page of DTOs. This is a stable, serializable object.
         return ResponseEntity.ok(dtoPage);
     }
 
 
+    /**
+     * Endpoint to export all employees to a CSV file.
+     * The file is streamed page by page; pass gzip=true for a compressed download.
+     */
+    @GetMapping("/employees/export")
+    public void exportEmployeesToCSV(@RequestParam(defaultValue = "false") boolean gzip,
+                                     HttpServletResponse response) throws IOException {
+        response.setContentType(gzip ? "application/gzip" : "text/csv");
+        response.setHeader("Content-Disposition", "attachment; filename=employees.csv" + (gzip ? ".gz" : ""));
+
+        try (Writer writer = csvExportService.openWriter(response.getOutputStream(), gzip)) {
+            csvExportService.writeEmployeesCsv(writer);
+        }
+    }
+
     @PostMapping("/employees")
     public ResponseEntity<?> createEmployee(@RequestBody EmployeeOnboardRequestDto employeeDto) {
         try {
             employeeService.onboardEmployee(employeeDto);
             return ResponseEntity.ok("Employee onboarded successfully.");
+        } catch (PasswordHashingBusyException e) {
+            return RetryLater.response(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfterSeconds());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to onboard employee: " + e.getMessage());
         }
     }
 
+    /**
+     * Cursor-based variant of the employee directory, selected by passing a 'cursor' parameter
+     * (empty for the first page). Pages are read by keyset instead of OFFSET, and the total
+     * count is skipped unless includeTotal=true.
+     * Accessed using: /api/dashboard/employees?cursor=&size=20&sort=name&department=IT
+     */
+    @GetMapping(value = "/employees", params = "cursor")
+    public ResponseEntity<?> scrollEmployees(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) EmployeeStatus status,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageDto<EmployeeSummaryDto> page = employeeService
+                    .scrollEmployees(cursor, Math.min(Math.max(size, 1), 100), sort, department, status, includeTotal)
+                    .map(EmployeeSummaryDto::fromEntity);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Bulk onboarding endpoint. The body is either CSV with a header row (text/csv)
+     * or one JSON employee per line (application/x-ndjson). It is streamed line by line,
+     * so the upload is never held in memory as a whole.
+     * @return A per-row error report with throughput statistics.
+     */
+    @PostMapping(value = "/employees/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importEmployees(HttpServletRequest request) {
+        EmployeeImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? EmployeeImportService.Format.CSV
+                : EmployeeImportService.Format.NDJSON;
+        Charset charset = (request.getCharacterEncoding() != null)
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            EmployeeImportReportDto report = employeeImportService.importEmployees(reader, format);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to import employees: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/employees/{id}")
     public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody EmployeeOnboardRequestDto employeeDto) {
         try {
@@ -87,17 +199,4 @@ public class HrDashboardController {
             return ResponseEntity.badRequest().body("Failed to delete employee: " + e.getMessage());
         }
     }
-
-    private EmployeeSummaryDto convertToSummaryDto(Employee employee) {
-        if (employee == null) {
-            return null;
-        }
-        return new EmployeeSummaryDto(
-                employee.getId(),
-                employee.getName(),
-                employee.getEmail(),
-                employee.getDepartment(),
-                employee.getStatus()
-        );
-    }
-}
\ No newline at end of file
+}
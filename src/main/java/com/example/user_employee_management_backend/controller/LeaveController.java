@@ -1,15 +1,32 @@
 package com.example.user_employee_management_backend.controller;
 
+import com.example.user_employee_management_backend.dto.CursorPageDto;
 import com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto;
+import com.example.user_employee_management_backend.dto.LeaveBatchDecisionRequestDto;
 import com.example.user_employee_management_backend.dto.LeaveRequestDto;
 import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
 import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import com.example.user_employee_management_backend.service.LeaveBatchDecisionService;
 import com.example.user_employee_management_backend.service.LeaveService;
+import com.example.user_employee_management_backend.service.LeaveTypeService;
+import com.example.user_employee_management_backend.service.LeaveTypeCatalog;
+import com.example.user_employee_management_backend.service.LiveUpdateBroadcaster;
+import com.example.user_employee_management_backend.service.ResourceVersions;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -20,30 +37,66 @@ public class LeaveController {
     @Autowired
     private LeaveService leaveService;
 
+    @Autowired
+    private LeaveBatchDecisionService leaveBatchDecisionService;
+
+    @Autowired
+    private LiveUpdateBroadcaster liveUpdateBroadcaster;
+
+    @Autowired
+    private LeaveTypeService leaveTypeService;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    // The types to choose from when submitting a request; served from memory.
+    // The ETag is the catalog version, so an unchanged list is answered with 304.
+    @GetMapping("/types")
+    public ResponseEntity<List<LeaveTypeDto>> getLeaveTypes(WebRequest request) {
+        LeaveTypeCatalog.Snapshot snapshot = leaveTypeService.getLeaveTypeSnapshot();
+        if (ConditionalGet.notModified(request, resourceVersions.leaveTypesTag(snapshot.version()))) {
+            return null;
+        }
+        return ResponseEntity.ok(snapshot.types());
+    }
+
     @PostMapping("/requests")
     @PreAuthorize("hasAnyRole('EMPLOYEE')")
-    public ResponseEntity<?> submitLeaveRequest(@RequestBody LeaveRequestDto requestDto) {
+    public ResponseEntity<?> submitLeaveRequest(@AuthenticationPrincipal UserDetailsImpl principal,
+                                                @RequestBody LeaveRequestDto requestDto) {
         try {
-            String username = SecurityContextHolder.getContext().getAuthentication().getName();
-            leaveService.submitLeaveRequest(username, requestDto);
+            leaveService.submitLeaveRequest(employeeId(principal), requestDto);
             return ResponseEntity.ok("Leave request submitted successfully.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * The caller's requests and balances carry the ETag of their leave data (ResourceVersions),
+     * taken before the lists are read: a client polling with If-None-Match gets a 304 without a
+     * query until one of their requests is submitted or decided.
+     */
     @GetMapping("/my-requests")
     @PreAuthorize("hasAnyRole('EMPLOYEE')")
-    public ResponseEntity<List<LeaveRequestResponseDto>> getMyLeaveRequests() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(leaveService.getMyLeaveRequests(username));
+    public ResponseEntity<List<LeaveRequestResponseDto>> getMyLeaveRequests(@AuthenticationPrincipal UserDetailsImpl principal,
+                                                                            WebRequest request) {
+        Long employeeId = employeeId(principal);
+        if (ConditionalGet.notModified(request, resourceVersions.employeeLeaveTag(employeeId))) {
+            return null;
+        }
+        return ResponseEntity.ok(leaveService.getMyLeaveRequests(employeeId));
     }
 
     @GetMapping("/my-balances")
     @PreAuthorize("hasAnyRole('EMPLOYEE')")
-    public ResponseEntity<List<LeaveBalanceResponseDto>> getMyLeaveBalances() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(leaveService.getMyLeaveBalances(username));
+    public ResponseEntity<List<LeaveBalanceResponseDto>> getMyLeaveBalances(@AuthenticationPrincipal UserDetailsImpl principal,
+                                                                            WebRequest request) {
+        Long employeeId = employeeId(principal);
+        if (ConditionalGet.notModified(request, resourceVersions.employeeLeaveTag(employeeId))) {
+            return null;
+        }
+        return ResponseEntity.ok(leaveService.getMyLeaveBalances(employeeId));
     }
 
     @GetMapping("/requests/pending")
@@ -52,6 +105,62 @@ public class LeaveController {
         return ResponseEntity.ok(leaveService.getPendingRequests());
     }
 
+    /**
+     * Cursor-paginated PENDING queue, ordered by start date. Pass an empty cursor for the first
+     * page and then the returned nextCursor. Filters: department, leaveTypeId and a from/to
+     * window (requests overlapping it). The total is only counted with includeTotal=true.
+     * Accessed using: /api/leave/requests/pending?cursor=&size=50&department=IT&from=2025-07-01
+     */
+    @GetMapping(value = "/requests/pending", params = "cursor")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> scrollPendingLeaveRequests(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Long leaveTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageDto<LeaveRequestResponseDto> page = leaveService.scrollPendingRequests(cursor,
+                    Math.min(Math.max(size, 1), 200), department, leaveTypeId, from, to, includeTotal);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Who is on approved or pending leave between two dates, optionally within one department.
+     * Accessed using: /api/leave/who-is-out?department=IT&from=2025-07-01&to=2025-07-31
+     */
+    @GetMapping("/who-is-out")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> whoIsOut(
+            @RequestParam(required = false) String department,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(leaveService.whoIsOut(department, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of queue changes: a "leave-request" event whenever a request
+     * is submitted or decided. Replaces polling the pending queue.
+     */
+    @GetMapping(value = "/requests/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('MANAGER')")
+    public SseEmitter streamLeaveRequests() {
+        try {
+            return liveUpdateBroadcaster.subscribe(LiveUpdateBroadcaster.Channel.LEAVE_QUEUE, null);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @PutMapping("/requests/{id}/status")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<?> updateRequestStatus(@PathVariable Long id, @RequestBody Map<String, String> body) {
@@ -63,4 +172,26 @@ public class LeaveController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * Approves or rejects many requests at once. Each item gets its own outcome;
+     * items that fail leave their request unchanged without affecting the others.
+     */
+    @PostMapping("/requests/decisions")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<?> decideRequests(@RequestBody LeaveBatchDecisionRequestDto body) {
+        try {
+            return ResponseEntity.ok(leaveBatchDecisionService.decide(body.decisions()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // The employee id is resolved together with the user when the principal is loaded.
+    private Long employeeId(UserDetailsImpl principal) {
+        if (principal.getEmployeeId() == null) {
+            throw new EntityNotFoundException("No employee profile is associated with your user account.");
+        }
+        return principal.getEmployeeId();
+    }
 }
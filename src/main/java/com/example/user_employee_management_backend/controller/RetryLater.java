@@ -0,0 +1,22 @@
+package com.example.user_employee_management_backend.controller;
+
+import com.example.user_employee_management_backend.payload.response.MessageResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses that ask the client to come back later (e.g. 503 while password hashing is
+ * saturated), with the wait in a Retry-After header.
+ */
+final class RetryLater {
+
+    private RetryLater() {
+    }
+
+    static ResponseEntity<MessageResponse> response(HttpStatus status, String message, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)))
+                .body(new MessageResponse(message));
+    }
+}
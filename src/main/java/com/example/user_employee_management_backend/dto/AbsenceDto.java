@@ -0,0 +1,19 @@
+package com.example.user_employee_management_backend.dto;
+
+import com.example.user_employee_management_backend.model.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * An approved or pending leave of one employee, as listed by the who-is-out query.
+ */
+public record AbsenceDto(
+        Long requestId,
+        Long employeeId,
+        String employeeName,
+        String department,
+        Long leaveTypeId,
+        LocalDate startDate,
+        LocalDate endDate,
+        LeaveStatus status
+) {}
@@ -0,0 +1,20 @@
+package com.example.user_employee_management_backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * @param nextCursor Opaque token to pass back as {@code cursor} for the next page; null on the last page.
+ * @param totalElements Only computed when explicitly requested, otherwise null.
+ */
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageDto<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext, totalElements);
+    }
+}
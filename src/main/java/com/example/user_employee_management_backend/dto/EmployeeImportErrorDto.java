@@ -0,0 +1,11 @@
+package com.example.user_employee_management_backend.dto;
+
+/**
+ * A single rejected row of a bulk employee import.
+ * @param line The 1-based line number in the uploaded file.
+ */
+public record EmployeeImportErrorDto(
+        long line,
+        String email,
+        String message
+) {}
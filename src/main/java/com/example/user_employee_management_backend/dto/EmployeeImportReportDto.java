@@ -0,0 +1,16 @@
+package com.example.user_employee_management_backend.dto;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk employee import: row counts, throughput and the rejected rows.
+ * Only the first errors are listed; {@code failedRows} always holds the full count.
+ */
+public record EmployeeImportReportDto(
+        long totalRows,
+        long importedRows,
+        long failedRows,
+        long elapsedMs,
+        double rowsPerSecond,
+        List<EmployeeImportErrorDto> errors
+) {}
@@ -1,5 +1,6 @@
 package com.example.user_employee_management_backend.dto;
 
+import com.example.user_employee_management_backend.model.Employee;
 import com.example.user_employee_management_backend.model.EmployeeStatus;
 
 public record EmployeeSummaryDto(
@@ -8,4 +9,17 @@ public record EmployeeSummaryDto(
         String email,
         String department,
         EmployeeStatus status
-) {}
+) {
+    public static EmployeeSummaryDto fromEntity(Employee employee) {
+        if (employee == null) {
+            return null;
+        }
+        return new EmployeeSummaryDto(
+                employee.getId(),
+                employee.getName(),
+                employee.getEmail(),
+                employee.getDepartment(),
+                employee.getStatus()
+        );
+    }
+}
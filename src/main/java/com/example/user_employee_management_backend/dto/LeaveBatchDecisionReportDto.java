@@ -0,0 +1,14 @@
+package com.example.user_employee_management_backend.dto;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch decision, with one result per submitted item in submission order.
+ */
+public record LeaveBatchDecisionReportDto(
+        int total,
+        int succeeded,
+        int failed,
+        long elapsedMs,
+        List<LeaveDecisionResultDto> results
+) {}
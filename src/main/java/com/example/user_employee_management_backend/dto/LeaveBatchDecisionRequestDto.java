@@ -0,0 +1,7 @@
+package com.example.user_employee_management_backend.dto;
+
+import java.util.List;
+
+public record LeaveBatchDecisionRequestDto(
+        List<LeaveDecisionDto> decisions
+) {}
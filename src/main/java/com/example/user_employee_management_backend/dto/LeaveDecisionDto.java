@@ -0,0 +1,9 @@
+package com.example.user_employee_management_backend.dto;
+
+/**
+ * One item of a batch decision: the request to decide and its new status (APPROVED or DENIED).
+ */
+public record LeaveDecisionDto(
+        Long requestId,
+        String status
+) {}
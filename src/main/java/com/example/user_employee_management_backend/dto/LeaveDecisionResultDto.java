@@ -0,0 +1,12 @@
+package com.example.user_employee_management_backend.dto;
+
+/**
+ * The outcome of one item of a batch decision.
+ * @param message Null on success, otherwise why the request was left unchanged.
+ */
+public record LeaveDecisionResultDto(
+        Long requestId,
+        String status,
+        boolean success,
+        String message
+) {}
@@ -1,3 +1,9 @@
 package com.example.user_employee_management_backend.dto;
 
-public record LeaveTypeDto(Long id, String name) {}
+import com.example.user_employee_management_backend.model.LeaveType;
+
+public record LeaveTypeDto(Long id, String name, int defaultDays) {
+    public static LeaveTypeDto fromEntity(LeaveType leaveType) {
+        return new LeaveTypeDto(leaveType.getId(), leaveType.getName(), leaveType.getDefaultDays());
+    }
+}
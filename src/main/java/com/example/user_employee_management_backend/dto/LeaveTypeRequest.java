@@ -0,0 +1,18 @@
+package com.example.user_employee_management_backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of the admin leave-type create and update calls.
+ * {@code defaultDays} is the balance new employees (and, on create, all employees) start with.
+ */
+public record LeaveTypeRequest(
+        @NotBlank(message = "Name cannot be blank")
+        String name,
+
+        @Min(value = 0, message = "Default days cannot be negative")
+        @Max(value = 366, message = "Default days cannot exceed 366")
+        int defaultDays
+) {}
@@ -0,0 +1,8 @@
+package com.example.user_employee_management_backend.dto;
+
+public record PrincipalCacheStatsDto(
+        long hits,
+        long misses,
+        long evictions,
+        int size
+) {}
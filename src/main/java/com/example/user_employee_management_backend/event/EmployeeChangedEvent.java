@@ -0,0 +1,28 @@
+package com.example.user_employee_management_backend.event;
+
+import com.example.user_employee_management_backend.model.Employee;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an employee is created, updated or deleted.
+ * {@code previous} is null for a new employee and {@code current} is null for a deleted one.
+ */
+public record EmployeeChangedEvent(Snapshot previous, Snapshot current) {
+
+    public record Snapshot(Long id, String name, String department, EmployeeStatus status, LocalDate dateJoined) {
+        public static Snapshot of(Employee employee) {
+            return new Snapshot(employee.getId(), employee.getName(), employee.getDepartment(),
+                    employee.getStatus(), employee.getDateJoined());
+        }
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(null, Snapshot.of(employee));
+    }
+
+    public static EmployeeChangedEvent deleted(Employee employee) {
+        return new EmployeeChangedEvent(Snapshot.of(employee), null);
+    }
+}
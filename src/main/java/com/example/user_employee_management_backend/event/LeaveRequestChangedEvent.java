@@ -0,0 +1,29 @@
+package com.example.user_employee_management_backend.event;
+
+import com.example.user_employee_management_backend.model.LeaveRequest;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a leave request is submitted or its status changes.
+ * {@code previous} is null for a newly submitted request.
+ */
+public record LeaveRequestChangedEvent(Snapshot previous, Snapshot current) {
+
+    public record Snapshot(Long id, Long employeeId, Long leaveTypeId, LeaveStatus status,
+                           LocalDate startDate, LocalDate endDate) {
+        public static Snapshot of(LeaveRequest request) {
+            return new Snapshot(request.getId(), request.getEmployee().getId(), request.getLeaveType().getId(),
+                    request.getStatus(), request.getStartDate(), request.getEndDate());
+        }
+
+        public Snapshot withStatus(LeaveStatus newStatus) {
+            return new Snapshot(id, employeeId, leaveTypeId, newStatus, startDate, endDate);
+        }
+    }
+
+    public static LeaveRequestChangedEvent submitted(LeaveRequest request) {
+        return new LeaveRequestChangedEvent(null, Snapshot.of(request));
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.user_employee_management_backend.event;
+
+/**
+ * Published when a leave type is created, edited or deleted through the admin API.
+ */
+public record LeaveTypeChangedEvent(Long leaveTypeId) {}
@@ -0,0 +1,21 @@
+package com.example.user_employee_management_backend.event;
+
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+
+/**
+ * Published when a user account is created or its role, status or first-login flag changes.
+ * {@code previous} is null for a new account.
+ */
+public record UserChangedEvent(Snapshot previous, Snapshot current) {
+
+    public record Snapshot(Long id, Role role, boolean enabled, boolean firstTimeLogin) {
+        public static Snapshot of(User user) {
+            return new Snapshot(user.getId(), user.getRole(), user.isEnabled(), user.isFirstTimeLogin());
+        }
+    }
+
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(null, Snapshot.of(user));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.user_employee_management_backend.metrics;
+
+import com.example.user_employee_management_backend.security.LoginRateLimiter;
+import com.example.user_employee_management_backend.security.PasswordHashingService;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
+import com.example.user_employee_management_backend.service.LeaveBalanceCache;
+import com.example.user_employee_management_backend.service.LeaveTypeCatalog;
+import com.example.user_employee_management_backend.service.LiveUpdateBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters that Actuator does not provide on its own.
+ * HTTP latency (http.server.requests), Hikari pool gauges (hikaricp.*) and JVM metrics are
+ * auto-configured; the histogram, exposure and @Timed settings live in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Registers the statement counter with Hibernate for the per-request SQL counts. */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(UserPrincipalCache cache) {
+        return registry -> {
+            FunctionCounter.builder("app.principal.cache.requests", cache, UserPrincipalCache::getHitCount)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("app.principal.cache.requests", cache, UserPrincipalCache::getMissCount)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("app.principal.cache.evictions", cache, UserPrincipalCache::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("app.principal.cache.size", cache, UserPrincipalCache::getSize)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * cache.gets (tagged result=hit|miss, so the hit ratio is hit / total), cache.puts,
+     * cache.evictions and cache.size for the leave-type and balance caches.
+     */
+    @Bean
+    public MeterBinder leaveCacheMetrics(LeaveTypeCatalog leaveTypeCatalog, LeaveBalanceCache leaveBalanceCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, leaveTypeCatalog.getCache(), "leaveTypes");
+            CaffeineCacheMetrics.monitor(registry, leaveBalanceCache.getCache(), "leaveBalances");
+        };
+    }
+
+    /**
+     * The password hashing pool: executor.active, executor.queued and executor.completed
+     * (name=passwordHashing), calls refused while saturated, and the configured BCrypt cost.
+     * Hash and verification latency come from TimedPasswordEncoder (app.password.*).
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService service) {
+        return registry -> {
+            new ExecutorServiceMetrics(service.getExecutor(), "passwordHashing", Tags.empty()).bindTo(registry);
+            FunctionCounter.builder("app.password.rejected", service, PasswordHashingService::getRejectedCount)
+                    .description("Password hashing calls refused because the pool was saturated")
+                    .register(registry);
+            Gauge.builder("app.password.bcrypt.strength", service, PasswordHashingService::getStrength)
+                    .register(registry);
+        };
+    }
+
+    /** Open live update streams, and those disconnected for falling too far behind. */
+    @Bean
+    public MeterBinder liveUpdateMetrics(LiveUpdateBroadcaster broadcaster) {
+        return registry -> {
+            Gauge.builder("app.live-updates.subscribers", broadcaster, LiveUpdateBroadcaster::subscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("app.live-updates.overflowed", broadcaster, LiveUpdateBroadcaster::overflowedCount)
+                    .description("Subscribers disconnected because their event buffer was full")
+                    .register(registry);
+        };
+    }
+
+    /** Login attempts let through and refused by the rate limiter, by the bucket that refused them. */
+    @Bean
+    public MeterBinder loginRateLimitMetrics(LoginRateLimiter limiter) {
+        return registry -> {
+            FunctionCounter.builder("app.login.rate-limit.allowed", limiter, LoginRateLimiter::getAllowedCount)
+                    .register(registry);
+            FunctionCounter.builder("app.login.rate-limit.rejected", limiter, LoginRateLimiter::getRejectedByIpCount)
+                    .tag("key", "ip").register(registry);
+            FunctionCounter.builder("app.login.rate-limit.rejected", limiter, LoginRateLimiter::getRejectedByUsernameCount)
+                    .tag("key", "username").register(registry);
+        };
+    }
+}
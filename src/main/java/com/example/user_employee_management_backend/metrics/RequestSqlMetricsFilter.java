@@ -0,0 +1,50 @@
+package com.example.user_employee_management_backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements run by each request as the "app.http.sql.statements"
+ * summary, tagged like http.server.requests (method and URI template) so an endpoint whose
+ * query count grows (an N+1 regression) stands out.
+ * Runs outside the security filters, so statements of the authentication step are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.reset();
+            // Set by the handler mapping; absent for requests that matched no endpoint.
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("app.http.sql.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", (pattern == null) ? "UNKNOWN" : pattern.toString())
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.user_employee_management_backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * {@link RequestSqlMetricsFilter} can record how many statements each request ran.
+ * The SQL itself is passed through unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /** Resets the current thread's count and returns its previous value. */
+    static long reset() {
+        long[] count = COUNT.get();
+        long previous = count[0];
+        count[0] = 0;
+        return previous;
+    }
+}
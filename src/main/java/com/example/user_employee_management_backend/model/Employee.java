@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+// Department, status and join-date filters (db/migration/V2).
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_department", columnList = "department"),
+        @Index(name = "idx_employees_status_date_joined", columnList = "status, date_joined"),
+        @Index(name = "idx_employees_date_joined", columnList = "date_joined")})
 public class Employee {
 
     @Id
@@ -3,21 +3,21 @@ package com.example.user_employee_management_backend.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "leave_balances")
+// One balance per (employee, leave type); added with a dedupe step in db/migration/V2.
+@Table(name = "leave_balances", uniqueConstraints = @UniqueConstraint(
+        name = "uk_leave_balances_employee_leave_type", columnNames = {"employee_id", "leave_type_id"}))
 public class LeaveBalance {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // --- THIS IS THE FIX ---
-    // Change FetchType.LAZY (the default) to FetchType.EAGER
-    @ManyToOne(fetch = FetchType.EAGER)
+    // LAZY: read paths use DTO projections or an explicit @EntityGraph in LeaveBalanceRepository,
+    // so loading a balance no longer drags in the employee row (and its LOB).
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    // --- THIS IS THE FIX ---
-    // Also change this relationship to be EAGER
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "leave_type_id", nullable = false)
     private LeaveType leaveType;
 
@@ -2,20 +2,25 @@ package com.example.user_employee_management_backend.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit; // Import for date calculation
 
 @Entity
-@Table(name = "leave_requests")
+// The manager queue filters on status and orders by start date; InnoDB appends the id to the index.
+// The schema itself comes from db/migration; these mirror the indexes created there.
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_status_start_date", columnList = "status, start_date"),
+        @Index(name = "idx_leave_requests_employee_status_start_date", columnList = "employee_id, status, start_date"),
+        @Index(name = "idx_leave_requests_status_end_date", columnList = "status, end_date")})
 public class LeaveRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // LAZY: read paths use DTO projections or an explicit fetch plan in LeaveRequestRepository.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "leave_type_id", nullable = false)
     private LeaveType leaveType;
 
@@ -30,7 +35,14 @@ public class LeaveRequest {
     @Enumerated(EnumType.STRING)
     private LeaveStatus status;
 
+    // Optimistic lock: a request decided concurrently by two managers is only processed once.
+    // The column default gives rows created before this field existed a starting version.
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     // --- ADDED FIELD FOR num_days ---
+    // Working days, filled once on insert by service.LeaveRequestDaysListener (see META-INF/orm.xml).
     @Column(name = "num_days", nullable = false) // Make sure this column is not nullable in DB
     private Long numDays;
 
@@ -39,7 +51,7 @@ public class LeaveRequest {
     }
 
     // You might have a constructor for creating new requests, ensure numDays is not explicitly set here
-    // as it will be calculated by @PrePersist/@PreUpdate
+    // as it will be calculated by LeaveRequestDaysListener
     public LeaveRequest(Employee employee, LeaveType leaveType, LocalDate startDate, LocalDate endDate, String reason, LeaveStatus status) {
         this.employee = employee;
         this.leaveType = leaveType;
@@ -47,7 +59,7 @@ public class LeaveRequest {
         this.endDate = endDate;
         this.reason = reason;
         this.status = status;
-        // numDays will be calculated automatically by the @PrePersist method
+        // numDays will be calculated automatically by LeaveRequestDaysListener before persisting
     }
 
 
@@ -66,6 +78,7 @@ public class LeaveRequest {
     public void setReason(String reason) { this.reason = reason; }
     public LeaveStatus getStatus() { return status; }
     public void setStatus(LeaveStatus status) { this.status = status; }
+    public Long getVersion() { return version; }
 
     // --- ADDED Getter and Setter for num_days ---
     public Long getNumDays() {
@@ -75,18 +88,4 @@ public class LeaveRequest {
     public void setNumDays(Long numDays) {
         this.numDays = numDays;
     }
-
-    // --- ADDED Lifecycle Callbacks to calculate num_days ---
-    // This method will be called automatically before persisting (saving) or updating the entity
-    @PrePersist
-    @PreUpdate
-    public void calculateNumDays() {
-        if (this.startDate != null && this.endDate != null) {
-            // Calculate days between start and end date (inclusive)
-            this.numDays = ChronoUnit.DAYS.between(this.startDate, this.endDate) + 1;
-        } else {
-            // If dates are not set, default to 0 days or handle as an error
-            this.numDays = 0L;
-        }
-    }
 }
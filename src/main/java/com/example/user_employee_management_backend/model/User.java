@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
  * role, and status information.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role_enabled_first_time_login",
+        columnList = "role, enabled, first_time_login"))
 public class User {
 
     @Id
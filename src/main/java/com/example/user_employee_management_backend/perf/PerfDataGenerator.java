@@ -0,0 +1,120 @@
+package com.example.user_employee_management_backend.perf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Seeds the embedded database of the "perf" profile with synthetic employees, users, leave
+ * types, balances and leave requests, so the service can be load tested without MySQL.
+ * Rows are generated set-based inside H2 (INSERT ... SELECT over SYSTEM_RANGE) in chunks, which
+ * takes minutes rather than hours at millions of rows. The database file is kept between runs
+ * and seeding is skipped when employees already exist.
+ * Every seeded account shares one password ({@code perf.seed.password}); the usernames follow the
+ * patterns LoadDriver logs in with: perf.employee{n}, perf.manager{n} and perf.hr{n} @example.com.
+ */
+@Component
+@Profile("perf")
+public class PerfDataGenerator implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(PerfDataGenerator.class);
+
+    private static final String[] LEAVE_TYPES = {"Annual", "Sick", "Parental", "Unpaid"};
+    private static final int[] LEAVE_TYPE_DAYS = {25, 10, 90, 30};
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @Value("${perf.seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${perf.seed.employees:100000}")
+    private long employees;
+
+    @Value("${perf.seed.leave-requests:1000000}")
+    private long leaveRequests;
+
+    @Value("${perf.seed.managers:50}")
+    private int managers;
+
+    @Value("${perf.seed.hr-users:10}")
+    private int hrUsers;
+
+    @Value("${perf.seed.departments:40}")
+    private int departments;
+
+    @Value("${perf.seed.password:perf-password}")
+    private String password;
+
+    @Value("${perf.seed.chunk-size:500000}")
+    private long chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+        if (!enabled || existing == null || existing > 0) {
+            logger.info("Perf seeding skipped ({} employees already present)", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        // One hash for every account: BCrypt per row would take hours at these volumes.
+        String hash = passwordEncoder.encode(password);
+
+        for (long from = 1; from <= employees; from += chunkSize) {
+            long to = Math.min(employees, from + chunkSize - 1);
+            jdbcTemplate.update("INSERT INTO employees (name, email, department, status, date_joined, age, "
+                    + "total_experience, profile_complete) "
+                    + "SELECT CONCAT('Perf Employee ', x), CONCAT('perf.employee', x, '@example.com'), "
+                    + "CONCAT('Dept ', MOD(x, ?)), CASE WHEN MOD(x, 10) = 0 THEN 'ON_PROBATION' ELSE 'ACTIVE' END, "
+                    + "DATEADD(DAY, -MOD(x * 31, 3650), CURRENT_DATE), 25 + MOD(x, 40), MOD(x, 30), TRUE "
+                    + "FROM SYSTEM_RANGE(?, ?) AS r(x)", departments, from, to);
+            jdbcTemplate.update("INSERT INTO users (username, email, password, role, first_time_login, enabled, created_at) "
+                    + "SELECT CONCAT('perf.employee', x, '@example.com'), CONCAT('perf.employee', x, '@example.com'), "
+                    + "?, 'ROLE_EMPLOYEE', FALSE, TRUE, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?) AS r(x)", hash, from, to);
+            logger.info("Seeded {} of {} employees and users", to, employees);
+        }
+        insertStaff("manager", "ROLE_MANAGER", managers, hash);
+        insertStaff("hr", "ROLE_HR", hrUsers, hash);
+
+        for (int i = 0; i < LEAVE_TYPES.length; i++) {
+            jdbcTemplate.update("INSERT INTO leave_types (name, default_days) VALUES (?, ?)", LEAVE_TYPES[i], LEAVE_TYPE_DAYS[i]);
+        }
+        jdbcTemplate.update("INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) "
+                + "SELECT e.id, t.id, t.default_days FROM employees e CROSS JOIN leave_types t");
+        logger.info("Seeded {} leave balances", employees * LEAVE_TYPES.length);
+
+        long firstEmployee = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class);
+        long firstLeaveType = jdbcTemplate.queryForObject("SELECT MIN(id) FROM leave_types", Long.class);
+        // Start dates over the last four years and the next one; 5% pending, 10% denied, the rest approved.
+        LocalDate origin = LocalDate.now().minusYears(4);
+        for (long from = 1; from <= leaveRequests; from += chunkSize) {
+            long to = Math.min(leaveRequests, from + chunkSize - 1);
+            jdbcTemplate.update("INSERT INTO leave_requests (employee_id, leave_type_id, start_date, end_date, num_days, "
+                    + "reason, status, version) "
+                    + "SELECT ? + MOD(x, ?), ? + MOD(x, ?), DATEADD(DAY, d, CAST(? AS DATE)), DATEADD(DAY, d + MOD(x, 10), CAST(? AS DATE)), "
+                    + "MOD(x, 10) + 1, CONCAT('Perf request ', x), "
+                    + "CASE WHEN MOD(x, 20) = 0 THEN 'PENDING' WHEN MOD(x, 10) = 1 THEN 'DENIED' ELSE 'APPROVED' END, 0 "
+                    + "FROM (SELECT x, MOD(x * 7919, 1826) AS d FROM SYSTEM_RANGE(?, ?) AS r(x))",
+                    firstEmployee, employees, firstLeaveType, LEAVE_TYPES.length, origin, origin, from, to);
+            logger.info("Seeded {} of {} leave requests", to, leaveRequests);
+        }
+        logger.info("Perf data seeded in {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private void insertStaff(String prefix, String role, int count, String hash) {
+        if (count <= 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, first_time_login, enabled, created_at) "
+                + "SELECT CONCAT('perf.', ?, x, '@example.com'), CONCAT('perf.', ?, x, '@example.com'), ?, ?, "
+                + "FALSE, TRUE, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?) AS r(x)", prefix, prefix, hash, role, count);
+    }
+}
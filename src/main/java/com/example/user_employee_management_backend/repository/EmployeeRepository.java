@@ -2,12 +2,18 @@ package com.example.user_employee_management_backend.repository;
 
 import com.example.user_employee_management_backend.model.Employee;
 import com.example.user_employee_management_backend.model.EmployeeStatus; // Import the enum
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
@@ -20,4 +26,71 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSp
     long countByStatus(EmployeeStatus status);
     // In EmployeeRepository.java
     Optional<Employee> findByEmail(String email);
+
+    // Keyset page for streaming exports: the next 'limit' employees after 'id', without OFFSET or COUNT.
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    interface DirectoryEntry {
+        Long getId();
+        String getName();
+        String getDepartment();
+    }
+
+    /** Id, name and department of every employee, without loading the entities. */
+    @Query("SELECT e.id AS id, e.name AS name, e.department AS department FROM Employee e")
+    List<DirectoryEntry> findDirectoryEntries();
+
+    /**
+     * Locks the employee's row until the transaction ends and returns its directory entry.
+     * Leave submissions take this lock first, so two submissions of one employee are checked
+     * one after the other.
+     */
+    @Query(value = "SELECT id AS id, name AS name, department AS department FROM employees WHERE id = :id FOR UPDATE",
+            nativeQuery = true)
+    Optional<DirectoryEntry> lockDirectoryEntry(@Param("id") Long id);
+
+    /**
+     * Locks the rows of every employee in the department, in id order so that concurrent callers
+     * cannot deadlock, and returns their ids. Serializes submissions within a department while
+     * the per-department absence cap is enforced.
+     */
+    @Query(value = "SELECT id FROM employees WHERE department = :department ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByDepartment(@Param("department") String department);
+
+    interface StatusJoinMonthCount {
+        EmployeeStatus getStatus();
+        Integer getJoinYear();
+        Integer getJoinMonth();
+        long getTotal();
+    }
+
+    /**
+     * Employee counts per (status, join month) in a single scan.
+     * Summing the rows gives the total, the per-status and the per-month counts.
+     */
+    @Query("SELECT e.status AS status, YEAR(e.dateJoined) AS joinYear, MONTH(e.dateJoined) AS joinMonth, COUNT(e) AS total " +
+            "FROM Employee e GROUP BY e.status, YEAR(e.dateJoined), MONTH(e.dateJoined)")
+    List<StatusJoinMonthCount> countGroupedByStatusAndJoinMonth();
+
+    interface DashboardSummary {
+        long getTotal();
+        long getJoinedInRange();
+        long getActive();
+        long getOnProbation();
+    }
+
+    /**
+     * Every employee figure of the HR dashboard from one conditional-aggregate query.
+     */
+    @Query("SELECT COUNT(e) AS total, " +
+            "COALESCE(SUM(CASE WHEN e.dateJoined BETWEEN :start AND :end THEN 1 ELSE 0 END), 0) AS joinedInRange, " +
+            "COALESCE(SUM(CASE WHEN e.status = :active THEN 1 ELSE 0 END), 0) AS active, " +
+            "COALESCE(SUM(CASE WHEN e.status = :onProbation THEN 1 ELSE 0 END), 0) AS onProbation " +
+            "FROM Employee e")
+    DashboardSummary summarizeForDashboard(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                           @Param("active") EmployeeStatus active,
+                                           @Param("onProbation") EmployeeStatus onProbation);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
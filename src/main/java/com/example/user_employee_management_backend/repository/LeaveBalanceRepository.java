@@ -1,16 +1,88 @@
-
 package com.example.user_employee_management_backend.repository;
 
+import com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto;
 import com.example.user_employee_management_backend.model.Employee;
 import com.example.user_employee_management_backend.model.LeaveBalance;
 import com.example.user_employee_management_backend.model.LeaveType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+    @EntityGraph(attributePaths = "leaveType")
     List<LeaveBalance> findByEmployeeId(Long employeeId);
+
+    /**
+     * An employee's balances as DTOs, selecting only the DTO columns in one join.
+     */
+    @Query("SELECT new com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto(" +
+            "lb.id, lt.id, lt.name, lb.remainingDays) " +
+            "FROM LeaveBalance lb JOIN lb.leaveType lt WHERE lb.employee.id = :employeeId")
+    List<LeaveBalanceResponseDto> findResponseDtosByEmployeeId(@Param("employeeId") Long employeeId);
     Optional<LeaveBalance> findByEmployeeAndLeaveType(Employee employee, LeaveType leaveType);
-}
\ No newline at end of file
+
+    Optional<LeaveBalance> findByEmployeeIdAndLeaveTypeId(Long employeeId, Long leaveTypeId);
+
+    boolean existsByEmployeeIdAndLeaveTypeId(Long employeeId, Long leaveTypeId);
+
+    /** Remaining days of one balance, read from the unique (employee_id, leave_type_id) index. */
+    @Query("SELECT lb.remainingDays FROM LeaveBalance lb WHERE lb.employee.id = :employeeId AND lb.leaveType.id = :leaveTypeId")
+    Optional<Integer> findRemainingDays(@Param("employeeId") Long employeeId, @Param("leaveTypeId") Long leaveTypeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM LeaveBalance lb WHERE lb.leaveType.id = :leaveTypeId")
+    int deleteByLeaveTypeId(@Param("leaveTypeId") Long leaveTypeId);
+
+    /**
+     * Deducts days from a balance only if enough remain, as one conditional UPDATE.
+     * The check and the write happen atomically in the database, so concurrent approvals
+     * can neither lose a deduction nor overdraw the balance.
+     * @return 1 if the days were deducted, 0 if the balance is missing or insufficient.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LeaveBalance lb SET lb.remainingDays = lb.remainingDays - :days " +
+            "WHERE lb.employee.id = :employeeId AND lb.leaveType.id = :leaveTypeId AND lb.remainingDays >= :days")
+    int deductIfSufficient(@Param("employeeId") Long employeeId, @Param("leaveTypeId") Long leaveTypeId,
+                           @Param("days") int days);
+
+    /**
+     * Creates a default balance for every (employee, leave type) pair that does not have one yet.
+     * The missing pairs are found with a single anti-join and written with one INSERT ... SELECT.
+     * @return the number of balances created.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) " +
+            "SELECT e.id, lt.id, lt.default_days FROM employees e CROSS JOIN leave_types lt " +
+            "WHERE NOT EXISTS (SELECT 1 FROM leave_balances lb WHERE lb.employee_id = e.id AND lb.leave_type_id = lt.id)",
+            nativeQuery = true)
+    int insertMissingBalances();
+
+    /**
+     * Same as {@link #insertMissingBalances()}, restricted to the given employees.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) " +
+            "SELECT e.id, lt.id, lt.default_days FROM employees e CROSS JOIN leave_types lt " +
+            "WHERE e.id IN (:employeeIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM leave_balances lb WHERE lb.employee_id = e.id AND lb.leave_type_id = lt.id)",
+            nativeQuery = true)
+    int insertMissingBalancesForEmployees(@Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Same as {@link #insertMissingBalances()} for one (new) leave type.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) " +
+            "SELECT e.id, lt.id, lt.default_days FROM employees e CROSS JOIN leave_types lt " +
+            "WHERE lt.id = :leaveTypeId " +
+            "AND NOT EXISTS (SELECT 1 FROM leave_balances lb WHERE lb.employee_id = e.id AND lb.leave_type_id = lt.id)",
+            nativeQuery = true)
+    int insertMissingBalancesForLeaveType(@Param("leaveTypeId") Long leaveTypeId);
+}
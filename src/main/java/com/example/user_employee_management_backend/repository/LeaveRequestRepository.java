@@ -1,19 +1,44 @@
 package com.example.user_employee_management_backend.repository;
 
+import com.example.user_employee_management_backend.dto.AbsenceDto;
+import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
 import com.example.user_employee_management_backend.model.LeaveRequest;
 import com.example.user_employee_management_backend.model.LeaveStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query; // <-- Add this import
 import org.springframework.data.repository.query.Param; // <-- Add this import
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
 
-    // This method is for an employee's own history and is likely fine.
+    // This method is for an employee's own history; the entity graph is its explicit fetch plan.
+    @EntityGraph(attributePaths = {"employee", "leaveType"})
     List<LeaveRequest> findByEmployeeId(Long employeeId);
 
+    /**
+     * An employee's own requests, selecting only the DTO columns in one join
+     * (no Employee entity, so the pastExperience LOB is never read).
+     */
+    @Query("SELECT new com.example.user_employee_management_backend.dto.LeaveRequestResponseDto(" +
+            "lr.id, e.name, lt.name, lr.startDate, lr.endDate, lr.status, lr.reason) " +
+            "FROM LeaveRequest lr JOIN lr.employee e JOIN lr.leaveType lt WHERE e.id = :employeeId")
+    List<LeaveRequestResponseDto> findResponseDtosByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * Requests with the given status as DTOs, selecting only the DTO columns in one join.
+     */
+    @Query("SELECT new com.example.user_employee_management_backend.dto.LeaveRequestResponseDto(" +
+            "lr.id, e.name, lt.name, lr.startDate, lr.endDate, lr.status, lr.reason) " +
+            "FROM LeaveRequest lr JOIN lr.employee e JOIN lr.leaveType lt WHERE lr.status = :status")
+    List<LeaveRequestResponseDto> findResponseDtosByStatus(@Param("status") LeaveStatus status);
+
     // --- THIS IS THE DEFINITIVE FIX ---
     /**
      * Finds all leave requests with a given status using a custom JPQL query.
@@ -26,4 +51,110 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee JOIN FETCH lr.leaveType WHERE lr.status = :status")
     List<LeaveRequest> findByStatusWithDetails(@Param("status") LeaveStatus status);
     long countByStatus(LeaveStatus status);
+
+    boolean existsByLeaveTypeId(Long leaveTypeId);
+
+    /**
+     * One page of requests with the given status, ordered by (startDate, id), as DTOs.
+     * Pages are read with a seek predicate after (afterStartDate, afterId) instead of OFFSET,
+     * which the (status, start_date) index serves directly. Null filters are ignored;
+     * the date window keeps requests overlapping [from, to].
+     */
+    @Query("SELECT new com.example.user_employee_management_backend.dto.LeaveRequestResponseDto(" +
+            "lr.id, e.name, lt.name, lr.startDate, lr.endDate, lr.status, lr.reason) " +
+            "FROM LeaveRequest lr JOIN lr.employee e JOIN lr.leaveType lt " +
+            "WHERE lr.status = :status " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "AND (:leaveTypeId IS NULL OR lt.id = :leaveTypeId) " +
+            "AND (:from IS NULL OR lr.endDate >= :from) " +
+            "AND (:to IS NULL OR lr.startDate <= :to) " +
+            "AND (:afterStartDate IS NULL OR lr.startDate > :afterStartDate " +
+            "     OR (lr.startDate = :afterStartDate AND lr.id > :afterId)) " +
+            "ORDER BY lr.startDate, lr.id")
+    List<LeaveRequestResponseDto> findResponseDtosByStatusAfter(
+            @Param("status") LeaveStatus status,
+            @Param("department") String department,
+            @Param("leaveTypeId") Long leaveTypeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterStartDate") LocalDate afterStartDate,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Query("SELECT COUNT(lr) FROM LeaveRequest lr JOIN lr.employee e " +
+            "WHERE lr.status = :status " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "AND (:leaveTypeId IS NULL OR lr.leaveType.id = :leaveTypeId) " +
+            "AND (:from IS NULL OR lr.endDate >= :from) " +
+            "AND (:to IS NULL OR lr.startDate <= :to)")
+    long countByStatusFiltered(
+            @Param("status") LeaveStatus status,
+            @Param("department") String department,
+            @Param("leaveTypeId") Long leaveTypeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    interface StatusCount {
+        LeaveStatus getStatus();
+        long getTotal();
+    }
+
+    @Query("SELECT lr.status AS status, COUNT(lr) AS total FROM LeaveRequest lr GROUP BY lr.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface AbsenceInterval {
+        Long getId();
+        Long getEmployeeId();
+        Long getLeaveTypeId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        LeaveStatus getStatus();
+    }
+
+    /** The date ranges of requests with the given statuses ending on or after {@code endingFrom}. */
+    @Query("SELECT lr.id AS id, lr.employee.id AS employeeId, lr.leaveType.id AS leaveTypeId, " +
+            "lr.startDate AS startDate, lr.endDate AS endDate, lr.status AS status " +
+            "FROM LeaveRequest lr WHERE lr.status IN :statuses AND lr.endDate >= :endingFrom")
+    List<AbsenceInterval> findAbsenceIntervals(@Param("statuses") Collection<LeaveStatus> statuses,
+                                               @Param("endingFrom") LocalDate endingFrom);
+
+    /**
+     * One employee's requests with the given statuses overlapping [from, to], served by the
+     * (employee_id, status, start_date) index. The authoritative overlap check of a submission.
+     */
+    @Query("SELECT lr.id AS id, lr.employee.id AS employeeId, lr.leaveType.id AS leaveTypeId, " +
+            "lr.startDate AS startDate, lr.endDate AS endDate, lr.status AS status " +
+            "FROM LeaveRequest lr WHERE lr.employee.id = :employeeId AND lr.status IN :statuses " +
+            "AND lr.startDate <= :to AND lr.endDate >= :from ORDER BY lr.startDate")
+    List<AbsenceInterval> findOverlappingForEmployee(@Param("employeeId") Long employeeId,
+                                                     @Param("statuses") Collection<LeaveStatus> statuses,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    /**
+     * Requests with the given statuses overlapping [from, to], optionally for one department.
+     * Used for dates older than the in-memory absence index keeps, and for the authoritative
+     * department cap check of a submission.
+     */
+    @Query("SELECT new com.example.user_employee_management_backend.dto.AbsenceDto(" +
+            "lr.id, e.id, e.name, e.department, lr.leaveType.id, lr.startDate, lr.endDate, lr.status) " +
+            "FROM LeaveRequest lr JOIN lr.employee e " +
+            "WHERE lr.status IN :statuses AND lr.startDate <= :to AND lr.endDate >= :from " +
+            "AND (:department IS NULL OR e.department = :department) " +
+            "ORDER BY lr.startDate, lr.id")
+    List<AbsenceDto> findAbsences(@Param("statuses") Collection<LeaveStatus> statuses,
+                                  @Param("department") String department,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    /**
+     * Moves the given requests from {@code expected} to {@code status} in one statement,
+     * bumping their versions as an entity update would. Only rows still in the expected
+     * status are touched, so a count below {@code ids.size()} means a concurrent decision.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = :status, lr.version = lr.version + 1 " +
+            "WHERE lr.id IN :ids AND lr.status = :expected")
+    int updateStatusWhereStatus(@Param("ids") Collection<Long> ids, @Param("expected") LeaveStatus expected,
+                                @Param("status") LeaveStatus status);
 }
\ No newline at end of file
@@ -2,22 +2,80 @@ package com.example.user_employee_management_backend.repository;
 
 import com.example.user_employee_management_backend.model.User;
 import com.example.user_employee_management_backend.model.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     long countByEnabled(boolean enabled);
     long countByRole(Role role);
     long countByRoleAndEnabled(Role role, boolean enabled);
+    long countByRoleAndFirstTimeLoginTrue(Role role);
+
+    interface RoleStatusCount {
+        Role getRole();
+        Boolean getEnabled();
+        Boolean getFirstTimeLogin();
+        long getTotal();
+    }
+
+    /**
+     * User counts per (role, enabled, firstTimeLogin) in a single scan; every Admin
+     * dashboard figure can be summed from these rows.
+     */
+    @Query("SELECT u.role AS role, u.enabled AS enabled, u.firstTimeLogin AS firstTimeLogin, COUNT(u) AS total " +
+            "FROM User u GROUP BY u.role, u.enabled, u.firstTimeLogin")
+    List<RoleStatusCount> countGroupedByRoleAndStatus();
 
     Page<User> findByRoleNot(Role role, Pageable pageable);
 
+    // Keyset scrolling: no OFFSET and no COUNT query.
+    Window<User> findByRoleNot(Role role, ScrollPosition position, Limit limit, Sort sort);
+    long countByRoleNot(Role role);
+
+    // Keyset page for streaming exports: the next 'limit' users after 'id', without OFFSET or COUNT.
+    List<User> findByRoleNotAndIdGreaterThanOrderByIdAsc(Role role, Long id, Limit limit);
+
     Optional<User> findByUsername(String username);
+
+    interface UserWithEmployeeId {
+        User getUser();
+        Long getEmployeeId();
+    }
+
+    /**
+     * Loads a user together with the id of the employee profile sharing its email (null if none),
+     * in one query over the unique username and email indexes.
+     */
+    @Query("SELECT u AS user, e.id AS employeeId FROM User u LEFT JOIN Employee e ON e.email = u.email " +
+            "WHERE u.username = :username")
+    Optional<UserWithEmployeeId> findWithEmployeeIdByUsername(@Param("username") String username);
     Optional<User> findByEmail(String email);
+
+    // The accounts whose principals carry the employee id of these emails.
+    @Query("SELECT u.username FROM User u WHERE u.email IN :emails")
+    List<String> findUsernamesByEmailIn(@Param("emails") Collection<String> emails);
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // Password re-hash on login; a single UPDATE without loading the entity.
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
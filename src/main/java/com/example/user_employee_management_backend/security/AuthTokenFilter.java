@@ -1,5 +1,7 @@
 package com.example.user_employee_management_backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,12 +11,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -24,6 +26,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -31,10 +39,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            JwtClaims claims = (jwt != null) ? verify(jwt) : null;
+            if (claims != null) {
+                String username = claims.subject();
+
+                // Served from the principal cache; only a miss goes to the database.
+                UserDetailsImpl userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+                if (!userDetails.isEnabled()) {
+                    logger.warn("Rejected token for disabled user: {}", username);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,6 +64,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Signature verification is on every authenticated request, so its cost is tracked separately.
+    private JwtClaims verify(String jwt) {
+        long start = System.nanoTime();
+        JwtClaims claims = jwtUtils.parseJwtToken(jwt);
+        Timer.builder("app.jwt.verification")
+                .description("JWT parsing and signature verification")
+                .tag("outcome", (claims != null) ? "valid" : "invalid")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,37 @@
+package com.example.user_employee_management_backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * DaoAuthenticationProvider whose re-hash of an outdated password never fails the login.
+ * After the password has been verified, the provider re-hashes it at the current BCrypt cost on
+ * the password hashing pool (see PasswordHashingService.upgradeEncoding). If the pool refuses that
+ * job, the login still succeeds with the old hash kept; the next successful login tries again.
+ */
+public class HashUpgradingAuthenticationProvider extends DaoAuthenticationProvider {
+    private static final Logger logger = LoggerFactory.getLogger(HashUpgradingAuthenticationProvider.class);
+
+    public HashUpgradingAuthenticationProvider(PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (PasswordHashingBusyException e) {
+            logger.debug("Password hashing pool busy; re-hash of {} deferred to a later login", user.getUsername());
+            // The same token the provider builds when no upgrade is due.
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.user_employee_management_backend.security;
+
+import java.util.Date;
+
+/**
+ * The verified contents of a JWT, produced by a single parse in JwtUtils.
+ */
+public record JwtClaims(
+        String subject,
+        String role,
+        Date expiration
+) {}
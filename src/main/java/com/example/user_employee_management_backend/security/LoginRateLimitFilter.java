@@ -0,0 +1,136 @@
+package com.example.user_employee_management_backend.security;
+
+import com.example.user_employee_management_backend.payload.response.MessageResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies the LoginRateLimiter to POST /api/auth/login ahead of the controller, so a throttled
+ * attempt costs neither a user lookup nor a BCrypt comparison. It is answered with 429 and a
+ * Retry-After header. The username is read from the JSON body, which is then replayed to the
+ * controller; bodies over MAX_BODY_BYTES are refused with 413, since no login needs one.
+ * The client IP is the remote address (set server.forward-headers-strategy behind a proxy).
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private static final RequestMatcher LOGIN = new AntPathRequestMatcher("/api/auth/login", HttpMethod.POST.name());
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !LOGIN.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Error: Login request is too large.", 0);
+            return;
+        }
+
+        LoginRateLimiter.Decision decision = loginRateLimiter.tryAcquire(request.getRemoteAddr(), username(body));
+        if (!decision.allowed()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Error: Too many login attempts. Please try again later.", decision.retryAfterMs());
+            return;
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    // Malformed bodies are left to the controller's validation; they are still limited by IP.
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, long retryAfterMs)
+            throws IOException {
+        response.setStatus(status.value());
+        if (retryAfterMs > 0) {
+            // Whole seconds, rounded up so a client retrying on time is not refused again.
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMs + 999) / 1000));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse(message));
+    }
+
+    /** Replays the already read body to the rest of the chain. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory: it is available at once, then fully read.
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.user_employee_management_backend.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets for login attempts, one keyed by client IP and one by username, checked by
+ * LoginRateLimitFilter before the attempt reaches the AuthenticationManager (a user lookup and a
+ * BCrypt comparison). Each allows a burst of {@code capacity} attempts and then one more every
+ * {@code refill-ms}.
+ *
+ * A bucket is a single long in a fixed array of stripes: the time at which it will be full
+ * again (the GCRA form of a token bucket), updated with compare-and-set, so there is no lock and
+ * memory does not grow with the number of clients. A time in the past is an untouched (full)
+ * bucket, so idle entries expire on their own and nothing needs evicting. Keys are spread with
+ * a per-process seed; keys sharing a stripe share a bucket, which can only make the limit
+ * stricter for them.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 1 << 16;
+
+    public enum Key { IP, USERNAME }
+
+    /** Outcome of a check; retryAfterMs is 0 when the attempt is allowed. */
+    public record Decision(boolean allowed, Key limitedBy, long retryAfterMs) {
+        static final Decision ALLOWED = new Decision(true, null, 0);
+    }
+
+    @Value("${security.login-rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-rate-limit.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${security.login-rate-limit.ip.refill-ms:2000}")
+    private long ipRefillMs;
+
+    @Value("${security.login-rate-limit.username.capacity:10}")
+    private int usernameCapacity;
+
+    @Value("${security.login-rate-limit.username.refill-ms:30000}")
+    private long usernameRefillMs;
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final AtomicLongArray ipBuckets = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray usernameBuckets = new AtomicLongArray(STRIPES);
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+
+    @PostConstruct
+    void validate() {
+        if (ipCapacity < 1 || usernameCapacity < 1 || ipRefillMs < 1 || usernameRefillMs < 1) {
+            throw new IllegalStateException("security.login-rate-limit capacities and refill intervals must be positive");
+        }
+    }
+
+    /**
+     * Takes one attempt from the IP bucket and, if that allows it, from the username bucket.
+     * @param username the username in the login request, or null if it has none
+     */
+    public Decision tryAcquire(String clientIp, String username) {
+        if (!enabled) {
+            return Decision.ALLOWED;
+        }
+        long now = System.currentTimeMillis();
+        long wait = take(ipBuckets, clientIp, ipCapacity, ipRefillMs, now);
+        if (wait > 0) {
+            rejectedByIp.increment();
+            return new Decision(false, Key.IP, wait);
+        }
+        if (username != null) {
+            wait = take(usernameBuckets, username.trim().toLowerCase(Locale.ROOT), usernameCapacity, usernameRefillMs, now);
+            if (wait > 0) {
+                rejectedByUsername.increment();
+                return new Decision(false, Key.USERNAME, wait);
+            }
+        }
+        allowed.increment();
+        return Decision.ALLOWED;
+    }
+
+    public long getAllowedCount() { return allowed.sum(); }
+    public long getRejectedByIpCount() { return rejectedByIp.sum(); }
+    public long getRejectedByUsernameCount() { return rejectedByUsername.sum(); }
+
+    /** @return 0 if a token was taken, otherwise the milliseconds until one is available. */
+    private long take(AtomicLongArray buckets, String key, int capacity, long refillMs, long now) {
+        int stripe = stripe(key);
+        long burst = refillMs * (capacity - 1);
+        while (true) {
+            long fullAt = buckets.get(stripe);
+            long next = Math.max(fullAt, now);
+            if (next - now > burst) {
+                return next - now - burst;
+            }
+            if (buckets.compareAndSet(stripe, fullAt, next + refillMs)) {
+                return 0;
+            }
+        }
+    }
+
+    // Seeded FNV-1a, so colliding keys cannot be chosen in advance.
+    private int stripe(String key) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return (int) (hash ^ (hash >>> 32)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.user_employee_management_backend.security;
+
+/**
+ * Thrown when the password hashing pool already has as many calls waiting as it accepts.
+ * Controllers answer it with 503 and a Retry-After of {@link #getRetryAfterSeconds()}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("The server is busy verifying passwords. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.user_employee_management_backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The application's PasswordEncoder. Every BCrypt hash and verification (login through
+ * DaoAuthenticationProvider, onboarding, user creation, password reset, imports) runs on one
+ * bounded pool of {@code security.password.hashing-threads}, so a login spike occupies at most
+ * that many cores and the other endpoints keep the rest. The default (0) is half the available
+ * processors, at least one: BCrypt is pure CPU, and a pool as large as the machine would let a
+ * login burst starve every other request.
+ *
+ * A caller waits for a pool thread, but once {@code security.password.queue-capacity} calls are
+ * already waiting a new one is refused at once with PasswordHashingBusyException (503 with
+ * Retry-After) rather than queueing behind a backlog its client has likely given up on.
+ * Bulk hashing (encodeAll) uses at most {@code employee.import.hashing-threads} pool threads
+ * and waits for room instead of failing.
+ *
+ * The BCrypt cost is {@code security.password.bcrypt-strength}. Hashes stored at a lower cost
+ * report upgradeEncoding, so DaoAuthenticationProvider re-hashes them on the next successful
+ * login (see UserDetailsServiceImpl.updatePassword); if the pool refuses that re-hash, the login
+ * still succeeds and a later one retries (see HashUpgradingAuthenticationProvider). Hashing time is measured by the wrapped
+ * TimedPasswordEncoder; the pool and refusal meters are bound in MetricsConfig.
+ */
+@Component
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final long BULK_RETRY_MS = 50;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int strength;
+
+    // 0 means half the available processors, at least one.
+    @Value("${security.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${employee.import.hashing-threads:4}")
+    private int bulkThreads;
+
+    private PasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    private Semaphore bulkPermits;
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        bulkPermits = new Semaphore(Math.max(1, Math.min(bulkThreads, threads)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // Only parses the cost out of the stored hash; no need for the pool.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes a batch of passwords in parallel, for bulk onboarding. Returns once every hash has
+     * been handed to the pool; when the pool is saturated by interactive calls the batch waits.
+     * @return one future per password, in order
+     */
+    public List<Future<String>> encodeAll(List<? extends CharSequence> rawPasswords) throws InterruptedException {
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            bulkPermits.acquire();
+            FutureTask<String> task = new FutureTask<>(() -> {
+                try {
+                    return encoder.encode(rawPassword);
+                } finally {
+                    bulkPermits.release();
+                }
+            });
+            try {
+                executeWhenAccepted(task);
+            } catch (InterruptedException e) {
+                bulkPermits.release();
+                throw e;
+            }
+            hashes.add(task);
+        }
+        return hashes;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** For the pool metrics (see MetricsConfig). */
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    private void executeWhenAccepted(Runnable task) throws InterruptedException {
+        while (true) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                TimeUnit.MILLISECONDS.sleep(BULK_RETRY_MS);
+            }
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+}
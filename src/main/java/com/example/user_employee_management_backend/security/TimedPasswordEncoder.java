@@ -0,0 +1,38 @@
+package com.example.user_employee_management_backend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times the wrapped encoder. BCrypt is deliberately slow, so these timers show how much of
+ * the login and user-creation latency is hashing ("app.password.encode" / "app.password.matches").
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("app.password.encode").description("Password hashing").register(registry);
+        this.matchesTimer = Timer.builder("app.password.matches").description("Password verification").register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
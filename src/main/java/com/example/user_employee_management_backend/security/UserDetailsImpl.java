@@ -18,19 +18,34 @@ public class UserDetailsImpl implements UserDetails {
     private final String email;
     private final boolean firstTimeLogin;
     private final boolean enabled;
+    private final Long employeeId;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(Long id, String username, String email, String password, boolean firstTimeLogin, boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, firstTimeLogin, enabled, null, authorities);
+    }
+
+    public UserDetailsImpl(Long id, String username, String email, String password, boolean firstTimeLogin, boolean enabled, Long employeeId, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.firstTimeLogin = firstTimeLogin;
         this.enabled = enabled;
+        this.employeeId = employeeId;
         this.authorities = authorities;
     }
 
     public static UserDetailsImpl build(User user) {
+        return build(user, null);
+    }
+
+    /**
+     * @param employeeId The id of the employee profile linked to this account, or null for
+     *                   accounts without one (Admin, HR, Managers). Carried in the principal so
+     *                   employee-facing endpoints need no identity lookup.
+     */
+    public static UserDetailsImpl build(User user, Long employeeId) {
         List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name()));
         return new UserDetailsImpl(
                 user.getId(),
@@ -39,10 +54,16 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.isFirstTimeLogin(),
                 user.isEnabled(),
+                employeeId,
                 authorities
         );
     }
 
+    /** The same principal with a new password hash (after a re-hash on login). */
+    public UserDetailsImpl withPassword(String encodedPassword) {
+        return new UserDetailsImpl(id, username, email, encodedPassword, firstTimeLogin, enabled, employeeId, authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -54,6 +75,7 @@ public class UserDetailsImpl implements UserDetails {
     @Override
     public String getUsername() { return username; }
     public boolean isFirstTimeLogin() { return firstTimeLogin; }
+    public Long getEmployeeId() { return employeeId; }
 
     @Override
     public boolean isAccountNonExpired() { return true; }
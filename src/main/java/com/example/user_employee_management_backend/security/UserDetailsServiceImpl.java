@@ -1,25 +1,37 @@
 package com.example.user_employee_management_backend.security;
 
-import com.example.user_employee_management_backend.model.User;
 import com.example.user_employee_management_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository userRepository;
 
     @Override
     @Transactional
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+    public UserDetailsImpl loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserRepository.UserWithEmployeeId result = userRepository.findWithEmployeeIdByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
-        return UserDetailsImpl.build(user);
+        return UserDetailsImpl.build(result.getUser(), result.getEmployeeId());
+    }
+
+    /**
+     * Called by DaoAuthenticationProvider after a successful login whose stored hash is below the
+     * configured BCrypt cost (PasswordHashingService.upgradeEncoding), with the password re-hashed
+     * at that cost. The principal cache needs no invalidation: it never checks passwords.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return ((UserDetailsImpl) user).withPassword(newPassword);
     }
 }
@@ -0,0 +1,100 @@
+package com.example.user_employee_management_backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, TTL-evicting cache of authenticated principals keyed by username.
+ * It lets AuthTokenFilter authenticate a request without a database lookup.
+ * Entries must be invalidated whenever the account changes (status, password)
+ * so that disabled users are locked out immediately.
+ */
+@Component
+public class UserPrincipalCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserPrincipalCache.class);
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with it is not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record Entry(UserDetailsImpl principal, long expiresAt) {}
+
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.principal();
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        UserDetailsImpl principal = loader.apply(username);
+
+        if (generation.get() == loadGeneration) {
+            if (entries.size() >= maxSize && !entries.containsKey(username)) {
+                evict(now);
+            }
+            entries.put(username, new Entry(principal, now + ttlMs));
+        }
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        entries.remove(username);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, drops the tenth of
+     * entries closest to expiry so the (linear) scan is amortized over many inserts.
+     */
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+
+        if (entries.size() >= maxSize) {
+            int toRemove = Math.max(1, maxSize / 10);
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                    .limit(toRemove)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+
+        int removed = before - entries.size();
+        evictions.add(removed);
+        logger.debug("Evicted {} principals from the cache", removed);
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public int getSize() { return entries.size(); }
+}
@@ -1,9 +1,12 @@
 package com.example.user_employee_management_backend.service;
 
 import com.example.user_employee_management_backend.dto.ResetPasswordRequest;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
 import com.example.user_employee_management_backend.model.User;
 import com.example.user_employee_management_backend.repository.UserRepository;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,12 +20,22 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public void resetPassword(String username, ResetPasswordRequest request) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        UserChangedEvent.Snapshot previous = UserChangedEvent.Snapshot.of(user);
 
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         user.setFirstTimeLogin(false); // Update flag after password reset
         userRepository.save(user);
+
+        principalCache.invalidate(username);
+        eventPublisher.publishEvent(new UserChangedEvent(previous, UserChangedEvent.Snapshot.of(user)));
     }
 }
\ No newline at end of file
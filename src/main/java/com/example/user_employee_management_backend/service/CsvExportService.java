@@ -0,0 +1,122 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.model.Employee;
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams CSV exports with flat memory use regardless of table size.
+ * Rows are read in keyset pages (WHERE id > last ORDER BY id LIMIT n) and written straight
+ * to a buffered writer; the persistence context is cleared after each page so the
+ * exported entities are detached instead of accumulating for the rest of the request.
+ */
+@Service
+public class CsvExportService {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * Wraps a response stream in a UTF-8 buffered writer, optionally gzip-compressed.
+     */
+    public Writer openWriter(OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        return new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 8192);
+    }
+
+    /**
+     * Writes all non-admin users as CSV.
+     */
+    public void writeUsersCsv(Writer writer) throws IOException {
+        writer.write("ID,Username,Email,Role,Enabled\n");
+        StringBuilder row = new StringBuilder(128);
+        long lastId = 0;
+        List<User> page;
+        do {
+            page = userRepository.findByRoleNotAndIdGreaterThanOrderByIdAsc(Role.ROLE_ADMIN, lastId, Limit.of(pageSize));
+            for (User user : page) {
+                row.setLength(0);
+                row.append(user.getId()).append(',');
+                appendField(row, user.getUsername()).append(',');
+                appendField(row, user.getEmail()).append(',');
+                row.append(user.getRole().name()).append(',');
+                row.append(user.isEnabled()).append('\n');
+                writer.append(row);
+                lastId = user.getId();
+            }
+            entityManager.clear();
+        } while (page.size() == pageSize);
+        writer.flush();
+    }
+
+    /**
+     * Writes all employees as CSV.
+     */
+    public void writeEmployeesCsv(Writer writer) throws IOException {
+        writer.write("ID,Name,Email,Department,Status,DateJoined\n");
+        StringBuilder row = new StringBuilder(128);
+        long lastId = 0;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageSize));
+            for (Employee employee : page) {
+                row.setLength(0);
+                row.append(employee.getId()).append(',');
+                appendField(row, employee.getName()).append(',');
+                appendField(row, employee.getEmail()).append(',');
+                appendField(row, employee.getDepartment()).append(',');
+                row.append(employee.getStatus() != null ? employee.getStatus().name() : "").append(',');
+                row.append(employee.getDateJoined() != null ? employee.getDateJoined().toString() : "").append('\n');
+                writer.append(row);
+                lastId = employee.getId();
+            }
+            entityManager.clear();
+        } while (page.size() == pageSize);
+        writer.flush();
+    }
+
+    /**
+     * Appends a CSV field, quoting it only when it contains a separator, quote or line break.
+     */
+    private static StringBuilder appendField(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            return row.append(value);
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+}
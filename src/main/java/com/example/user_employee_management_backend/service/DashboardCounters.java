@@ -0,0 +1,229 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory counters behind the HR and Admin dashboards.
+ * They are seeded from the database on first use, kept current by the change events
+ * published from the write paths (applied after commit), and periodically reconciled
+ * against the database to correct any drift, e.g. from writes made outside this service.
+ */
+@Component
+public class DashboardCounters {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+
+    private volatile Counts counts;
+
+    // Changes applied while a reconciliation is scanning, replayed on its result before the swap.
+    // Non-null only during a reconciliation; guarded by changeLock, which also makes applying a change
+    // and swapping the counters mutually exclusive, so no change lands on counters already replaced.
+    private List<Consumer<Counts>> pendingReplay;
+    private final Object changeLock = new Object();
+
+    // Bumped after every change is applied (and on reconciliation); the dashboards' ETags derive from it.
+    private final AtomicLong version = new AtomicLong();
+
+    /** One consistent set of counters; replaced as a whole on reconciliation. */
+    static class Counts {
+        final AtomicLong totalEmployees = new AtomicLong();
+        final Map<EmployeeStatus, AtomicLong> employeesByStatus = new ConcurrentHashMap<>();
+        final Map<YearMonth, AtomicLong> employeesByJoinMonth = new ConcurrentHashMap<>();
+        final Map<Role, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+        final Map<Role, AtomicLong> enabledUsersByRole = new ConcurrentHashMap<>();
+        // Employee accounts that have not completed their first login (password reset) yet.
+        final AtomicLong pendingOnboardings = new AtomicLong();
+        final Map<LeaveStatus, AtomicLong> leaveRequestsByStatus = new ConcurrentHashMap<>();
+
+        static <K> void add(Map<K, AtomicLong> counters, K key, long delta) {
+            if (key != null) {
+                counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+
+        static <K> long get(Map<K, AtomicLong> counters, K key) {
+            AtomicLong counter = counters.get(key);
+            return (counter == null) ? 0 : counter.get();
+        }
+    }
+
+    // --- Reads (O(1), no database access once seeded) ---
+
+    public long totalEmployees() { return counts().totalEmployees.get(); }
+    public long employeesWithStatus(EmployeeStatus status) { return Counts.get(counts().employeesByStatus, status); }
+    public long employeesJoinedIn(YearMonth month) { return Counts.get(counts().employeesByJoinMonth, month); }
+    public long usersWithRole(Role role) { return Counts.get(counts().usersByRole, role); }
+    public long enabledUsersWithRole(Role role) { return Counts.get(counts().enabledUsersByRole, role); }
+    public long pendingOnboardings() { return counts().pendingOnboardings.get(); }
+    public long leaveRequestsWithStatus(LeaveStatus status) { return Counts.get(counts().leaveRequestsByStatus, status); }
+
+    /** Seeds the counters first, so the first version handed out already covers the loaded state. */
+    public long version() {
+        counts();
+        return version.get();
+    }
+
+    private Counts counts() {
+        Counts current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reconcile();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+
+    // --- Write-path events ---
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        apply(target -> {
+            apply(target, event.previous(), -1);
+            apply(target, event.current(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        apply(target -> {
+            apply(target, event.previous(), -1);
+            apply(target, event.current(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        apply(target -> {
+            if (event.previous() != null) {
+                Counts.add(target.leaveRequestsByStatus, event.previous().status(), -1);
+            }
+            if (event.current() != null) {
+                Counts.add(target.leaveRequestsByStatus, event.current().status(), 1);
+            }
+        });
+    }
+
+    /**
+     * Applies a committed change to the current counters and, while a reconciliation is scanning,
+     * records it for replay on the new counters. Before the first seed there is nothing to update;
+     * the seed loads the committed state.
+     */
+    private void apply(Consumer<Counts> change) {
+        synchronized (changeLock) {
+            Counts current = counts;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pendingReplay != null) {
+                pendingReplay.add(change);
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    private void apply(Counts target, EmployeeChangedEvent.Snapshot employee, long delta) {
+        if (employee == null) {
+            return;
+        }
+        target.totalEmployees.addAndGet(delta);
+        Counts.add(target.employeesByStatus, employee.status(), delta);
+        LocalDate dateJoined = employee.dateJoined();
+        if (dateJoined != null) {
+            Counts.add(target.employeesByJoinMonth, YearMonth.from(dateJoined), delta);
+        }
+    }
+
+    private void apply(Counts target, UserChangedEvent.Snapshot user, long delta) {
+        if (user == null) {
+            return;
+        }
+        Counts.add(target.usersByRole, user.role(), delta);
+        if (user.enabled()) {
+            Counts.add(target.enabledUsersByRole, user.role(), delta);
+        }
+        if (user.role() == Role.ROLE_EMPLOYEE && user.firstTimeLogin()) {
+            target.pendingOnboardings.addAndGet(delta);
+        }
+    }
+
+    // --- Seeding and reconciliation ---
+
+    /**
+     * Rebuilds every counter from the database and swaps them in at once.
+     * Changes committed while the scans run are replayed on the new counters before the swap, so
+     * none is lost. A change whose transaction committed just before the scans but whose event
+     * arrives after they started is counted twice; the next reconciliation corrects it.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Counts fresh = new Counts();
+        synchronized (changeLock) {
+            pendingReplay = new ArrayList<>();
+        }
+        try {
+            scan(fresh);
+        } catch (RuntimeException e) {
+            synchronized (changeLock) {
+                pendingReplay = null;
+            }
+            throw e;
+        }
+        synchronized (changeLock) {
+            pendingReplay.forEach(change -> change.accept(fresh));
+            pendingReplay = null;
+            counts = fresh;
+        }
+        version.incrementAndGet();
+        logger.info("Dashboard counters reconciled in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void scan(Counts fresh) {
+
+        // Three grouped scans, one per table.
+        for (EmployeeRepository.StatusJoinMonthCount row : employeeRepository.countGroupedByStatusAndJoinMonth()) {
+            fresh.totalEmployees.addAndGet(row.getTotal());
+            Counts.add(fresh.employeesByStatus, row.getStatus(), row.getTotal());
+            if (row.getJoinYear() != null) {
+                Counts.add(fresh.employeesByJoinMonth, YearMonth.of(row.getJoinYear(), row.getJoinMonth()), row.getTotal());
+            }
+        }
+        for (UserRepository.RoleStatusCount row : userRepository.countGroupedByRoleAndStatus()) {
+            apply(fresh, new UserChangedEvent.Snapshot(null, row.getRole(),
+                    Boolean.TRUE.equals(row.getEnabled()), Boolean.TRUE.equals(row.getFirstTimeLogin())), row.getTotal());
+        }
+        for (LeaveRequestRepository.StatusCount row : leaveRequestRepository.countGroupedByStatus()) {
+            Counts.add(fresh.leaveRequestsByStatus, row.getStatus(), row.getTotal());
+        }
+    }
+}
@@ -2,52 +2,74 @@ package com.example.user_employee_management_backend.service;
 
 import com.example.user_employee_management_backend.dto.DashboardStatsDto;
 import com.example.user_employee_management_backend.model.EmployeeStatus;
-import com.example.user_employee_management_backend.model.LeaveStatus; // <-- Import LeaveStatus
+import com.example.user_employee_management_backend.model.LeaveStatus;
 import com.example.user_employee_management_backend.repository.EmployeeRepository;
-import com.example.user_employee_management_backend.repository.LeaveRequestRepository; // <-- Import LeaveRequestRepository
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
 
 @Service
 public class DashboardService {
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    // --- THIS IS THE FIX ---
-    // 1. Inject the LeaveRequestRepository so the class knows what it is.
     @Autowired
     private LeaveRequestRepository leaveRequestRepository;
 
+    // When disabled (e.g. several instances writing to one database) the stats are read
+    // from MySQL on every call, using one aggregate query per table.
+    @Value("${dashboard.counters.enabled:true}")
+    private boolean countersEnabled;
 
     public DashboardStatsDto getDashboardStats() {
-        // --- Get Employee Stats ---
-        long totalEmployees = employeeRepository.count();
+        return countersEnabled ? statsFromCounters() : statsFromDatabase();
+    }
+
+    /**
+     * ETag of the HR dashboard stats, or null when they are read from the database
+     * (there is no version to derive one from).
+     */
+    public String getDashboardStatsTag() {
+        return countersEnabled ? resourceVersions.dashboardTag("hr", dashboardCounters.version()) : null;
+    }
 
-        LocalDate today = LocalDate.now();
-        YearMonth yearMonth = YearMonth.of(today.getYear(), today.getMonth());
-        LocalDate startOfMonth = yearMonth.atDay(1);
-        LocalDate endOfMonth = yearMonth.atEndOfMonth();
-        long newThisMonth = employeeRepository.countByDateJoinedBetween(startOfMonth, endOfMonth);
+    /** ETag of the admin dashboard stats (UserService.getAdminDashboardStats), or null as above. */
+    public String getAdminDashboardStatsTag() {
+        return countersEnabled ? resourceVersions.dashboardTag("admin", dashboardCounters.version()) : null;
+    }
 
-        long activeEmployees = employeeRepository.countByStatus(EmployeeStatus.ACTIVE);
-        long onProbationEmployees = employeeRepository.countByStatus(EmployeeStatus.ON_PROBATION);
+    private DashboardStatsDto statsFromCounters() {
+        return new DashboardStatsDto(
+                dashboardCounters.totalEmployees(),
+                dashboardCounters.employeesJoinedIn(YearMonth.now()),
+                dashboardCounters.leaveRequestsWithStatus(LeaveStatus.PENDING),
+                dashboardCounters.employeesWithStatus(EmployeeStatus.ACTIVE),
+                dashboardCounters.employeesWithStatus(EmployeeStatus.ON_PROBATION)
+        );
+    }
 
-        // --- THIS IS THE FIX ---
-        // 2. Now the class can correctly call the repository method.
+    private DashboardStatsDto statsFromDatabase() {
+        YearMonth thisMonth = YearMonth.now();
+        EmployeeRepository.DashboardSummary employees = employeeRepository.summarizeForDashboard(
+                thisMonth.atDay(1), thisMonth.atEndOfMonth(), EmployeeStatus.ACTIVE, EmployeeStatus.ON_PROBATION);
         long pendingLeaveRequests = leaveRequestRepository.countByStatus(LeaveStatus.PENDING);
 
-
-        // 3. We must update the DTO to match this new data structure.
         return new DashboardStatsDto(
-                totalEmployees,
-                newThisMonth,
-                pendingLeaveRequests, // <-- Use the new value
-                activeEmployees,
-                onProbationEmployees
+                employees.getTotal(),
+                employees.getJoinedInRange(),
+                pendingLeaveRequests,
+                employees.getActive(),
+                employees.getOnProbation()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,311 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.EmployeeImportErrorDto;
+import com.example.user_employee_management_backend.dto.EmployeeImportReportDto;
+import com.example.user_employee_management_backend.dto.EmployeeOnboardRequestDto;
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
+import com.example.user_employee_management_backend.model.Employee;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import com.example.user_employee_management_backend.security.PasswordHashingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bulk onboarding from a CSV (with a header row) or NDJSON stream.
+ * The input is consumed line by line and processed in chunks: each chunk is validated,
+ * checked against existing accounts with two set queries, has its temporary passwords
+ * hashed in parallel on the shared password hashing pool, and is written in its own transaction.
+ * A chunk that fails to commit is retried row by row, so one bad row never rolls
+ * back the rest of the import.
+ */
+@Service
+public class EmployeeImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MIN_PASSWORD_LENGTH = 6;
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired private EmployeeService employeeService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private LeaveBalanceProvisioningService leaveBalanceProvisioningService;
+    @Autowired private PasswordHashingService passwordHashingService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record Row(long line, EmployeeOnboardRequestDto request) {}
+
+    /** Mutable counters for a single import run. */
+    private static class ImportRun {
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        final List<EmployeeImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, String email, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EmployeeImportErrorDto(line, email, message));
+            }
+        }
+    }
+
+    public EmployeeImportReportDto importEmployees(BufferedReader reader, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        long lineNumber = 0;
+        Map<String, Integer> csvColumns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                throw new IllegalArgumentException("The CSV upload is empty.");
+            }
+            csvColumns = parseCsvHeader(header);
+        }
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.totalRows++;
+
+            EmployeeOnboardRequestDto request;
+            try {
+                request = (format == Format.CSV) ? parseCsvRow(line, csvColumns) : objectMapper.readValue(line, EmployeeOnboardRequestDto.class);
+            } catch (Exception e) {
+                run.fail(lineNumber, null, "Unreadable row: " + e.getMessage());
+                continue;
+            }
+
+            String error = validate(request);
+            if (error != null) {
+                run.fail(lineNumber, request.email(), error);
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, request));
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, run);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = (elapsedMs == 0) ? run.totalRows : run.totalRows * 1000.0 / elapsedMs;
+        logger.info("Employee import finished: {} rows, {} imported, {} failed in {} ms",
+                run.totalRows, run.importedRows, run.failedRows, elapsedMs);
+
+        return new EmployeeImportReportDto(run.totalRows, run.importedRows, run.failedRows,
+                elapsedMs, rowsPerSecond, run.errors);
+    }
+
+    private void processChunk(List<Row> chunk, ImportRun run) {
+        // --- 1. Reject duplicates inside the chunk and against existing accounts (two queries) ---
+        Set<String> emails = new HashSet<>();
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (emails.add(row.request().email())) {
+                candidates.add(row);
+            } else {
+                run.fail(row.line(), row.request().email(), "Duplicate email in upload.");
+            }
+        }
+        Set<String> taken = new HashSet<>(employeeRepository.findExistingEmails(emails));
+        taken.addAll(userRepository.findExistingUsernames(emails));
+
+        List<Row> accepted = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (taken.contains(row.request().email())) {
+                run.fail(row.line(), row.request().email(), "An employee or user with this email already exists.");
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        // --- 2. Hash the temporary passwords in parallel ---
+        List<Future<String>> hashes;
+        try {
+            hashes = passwordHashingService.encodeAll(accepted.stream().map(row -> row.request().temporaryPassword()).toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted.forEach(row -> run.fail(row.line(), row.request().email(), "Import was interrupted."));
+            return;
+        }
+        List<Row> hashedRows = new ArrayList<>(accepted.size());
+        List<String> encodedPasswords = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            try {
+                encodedPasswords.add(hashes.get(i).get());
+                hashedRows.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.fail(row.line(), row.request().email(), "Import was interrupted.");
+            } catch (ExecutionException e) {
+                run.fail(row.line(), row.request().email(), "Failed to hash password: " + e.getCause().getMessage());
+            }
+        }
+
+        // --- 3. Write the chunk in one transaction, falling back to row by row ---
+        try {
+            write(hashedRows, encodedPasswords);
+            run.importedRows += hashedRows.size();
+        } catch (RuntimeException chunkFailure) {
+            logger.warn("Import chunk failed, retrying row by row: {}", chunkFailure.getMessage());
+            for (int i = 0; i < hashedRows.size(); i++) {
+                Row row = hashedRows.get(i);
+                try {
+                    write(List.of(row), List.of(encodedPasswords.get(i)));
+                    run.importedRows++;
+                } catch (RuntimeException e) {
+                    run.fail(row.line(), row.request().email(), "Failed to onboard employee: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void write(List<Row> rows, List<String> encodedPasswords) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Employee> employees = new ArrayList<>(rows.size());
+            List<User> users = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                EmployeeOnboardRequestDto request = rows.get(i).request();
+                employees.add(employeeService.newEmployee(request));
+                users.add(employeeService.newEmployeeUser(request, encodedPasswords.get(i)));
+            }
+            List<Employee> savedEmployees = employeeRepository.saveAll(employees);
+            List<User> savedUsers = userRepository.saveAll(users);
+            leaveBalanceProvisioningService.provisionBalancesFor(savedEmployees.stream().map(Employee::getId).toList());
+
+            // Delivered after commit, so a rolled-back chunk publishes nothing.
+            savedEmployees.forEach(e -> eventPublisher.publishEvent(EmployeeChangedEvent.created(e)));
+            savedUsers.forEach(u -> eventPublisher.publishEvent(UserChangedEvent.created(u)));
+        });
+    }
+
+    private String validate(EmployeeOnboardRequestDto request) {
+        if (!StringUtils.hasText(request.name())) {
+            return "Name is required.";
+        }
+        if (!StringUtils.hasText(request.email()) || !request.email().contains("@")) {
+            return "A valid email is required.";
+        }
+        if (request.temporaryPassword() == null || request.temporaryPassword().length() < MIN_PASSWORD_LENGTH) {
+            return "Temporary password must be at least " + MIN_PASSWORD_LENGTH + " characters long.";
+        }
+        return null;
+    }
+
+    // --- CSV parsing ---
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        List<String> names = splitCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "email", "temporarypassword")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The CSV header is missing the '" + required + "' column.");
+            }
+        }
+        return columns;
+    }
+
+    private EmployeeOnboardRequestDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        String status = csvValue(values, columns, "status");
+        String age = csvValue(values, columns, "age");
+        String totalExperience = csvValue(values, columns, "totalexperience");
+        String dateJoined = csvValue(values, columns, "datejoined");
+        String dateOfBirth = csvValue(values, columns, "dateofbirth");
+
+        return new EmployeeOnboardRequestDto(
+                csvValue(values, columns, "name"),
+                csvValue(values, columns, "email"),
+                csvValue(values, columns, "department"),
+                (age == null) ? 0 : Integer.parseInt(age),
+                (totalExperience == null) ? 0 : Integer.parseInt(totalExperience),
+                csvValue(values, columns, "pastexperience"),
+                (dateJoined == null) ? null : LocalDate.parse(dateJoined),
+                (dateOfBirth == null) ? null : LocalDate.parse(dateOfBirth),
+                (status == null) ? null : EmployeeStatus.valueOf(status.toUpperCase(Locale.ROOT)),
+                csvValue(values, columns, "temporarypassword")
+        );
+    }
+
+    private String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and "" escapes.
+     * Quoted fields spanning several lines are not supported.
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,27 +1,39 @@
 package com.example.user_employee_management_backend.service;
 
+import com.example.user_employee_management_backend.dto.CursorPageDto;
 import com.example.user_employee_management_backend.dto.EmployeeOnboardRequestDto;
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
 import com.example.user_employee_management_backend.model.*;
 import com.example.user_employee_management_backend.repository.*;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
+@Timed(value = "app.service", description = "Service method latency")
 @Service
 public class EmployeeService {
 
     @Autowired private EmployeeRepository employeeRepository;
     @Autowired private UserRepository userRepository;
     @Autowired private PasswordEncoder passwordEncoder;
-    @Autowired private LeaveTypeRepository leaveTypeRepository;
-    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveBalanceProvisioningService leaveBalanceProvisioningService;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private UserPrincipalCache principalCache;
 
     /**
      * A "Smart Onboarding" method that performs three actions in one transaction:
@@ -37,6 +49,29 @@ public class EmployeeService {
             throw new IllegalArgumentException("An employee with this email already exists.");
         }
 
+        Employee savedEmployee = employeeRepository.save(newEmployee(request));
+
+        // --- 2. Create the User Login Account ---
+        String username = request.email(); // Use email as the username for simplicity and uniqueness
+        if (userRepository.existsByUsername(username)) {
+            // This is a failsafe, should be caught by the employee email check above.
+            throw new IllegalArgumentException("A user account with this email already exists.");
+        }
+        User savedUser = userRepository.save(newEmployeeUser(request, passwordEncoder.encode(request.temporaryPassword())));
+
+        // --- 3. Create Default Leave Balances for the new Employee ---
+        // A single INSERT ... SELECT over all leave types instead of one save per type.
+        leaveBalanceProvisioningService.provisionBalancesFor(List.of(savedEmployee.getId()));
+
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
+        return savedEmployee;
+    }
+
+    /**
+     * Builds (but does not save) the Employee record for an onboarding request.
+     */
+    public Employee newEmployee(EmployeeOnboardRequestDto request) {
         Employee newEmployee = new Employee();
         newEmployee.setName(request.name());
         newEmployee.setEmail(request.email());
@@ -48,39 +83,30 @@ public class EmployeeService {
         newEmployee.setDateOfBirth(request.dateOfBirth());
         newEmployee.setStatus(request.status());
         newEmployee.setProfileComplete(true);
-        Employee savedEmployee = employeeRepository.save(newEmployee);
+        return newEmployee;
+    }
 
-        // --- 2. Create the User Login Account ---
-        String username = request.email(); // Use email as the username for simplicity and uniqueness
-        if (userRepository.existsByUsername(username)) {
-            // This is a failsafe, should be caught by the employee email check above.
-            throw new IllegalArgumentException("A user account with this email already exists.");
-        }
+    /**
+     * Builds (but does not save) the ROLE_EMPLOYEE login account for an onboarding request.
+     * The email is used as the username for simplicity and uniqueness.
+     */
+    public User newEmployeeUser(EmployeeOnboardRequestDto request, String encodedPassword) {
         User employeeUser = new User();
-        employeeUser.setUsername(username);
+        employeeUser.setUsername(request.email());
         employeeUser.setEmail(request.email());
-        employeeUser.setPassword(passwordEncoder.encode(request.temporaryPassword()));
+        employeeUser.setPassword(encodedPassword);
         employeeUser.setRole(Role.ROLE_EMPLOYEE);
         employeeUser.setFirstTimeLogin(true); // Must reset password on first login
         employeeUser.setEnabled(true);
-        userRepository.save(employeeUser);
-
-        // --- 3. Create Default Leave Balances for the new Employee ---
-        List<LeaveType> allLeaveTypes = leaveTypeRepository.findAll();
-        for (LeaveType type : allLeaveTypes) {
-            LeaveBalance newBalance = new LeaveBalance();
-            newBalance.setEmployee(savedEmployee);
-            newBalance.setLeaveType(type);
-            newBalance.setRemainingDays(type.getDefaultDays());
-            leaveBalanceRepository.save(newBalance);
-        }
-
-        return savedEmployee;
+        return employeeUser;
     }
 
     public Employee updateEmployee(Long id, EmployeeOnboardRequestDto request) {
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
+        EmployeeChangedEvent.Snapshot previous = EmployeeChangedEvent.Snapshot.of(existingEmployee);
+        String previousEmail = existingEmployee.getEmail();
+        boolean emailChanged = !previousEmail.equals(request.email());
 
         // Update fields for the existing employee
         existingEmployee.setName(request.name());
@@ -90,10 +116,45 @@ public class EmployeeService {
         existingEmployee.setDateOfBirth(request.dateOfBirth());
         existingEmployee.setStatus(request.status());
 
-        return employeeRepository.save(existingEmployee);
+        Employee savedEmployee = employeeRepository.save(existingEmployee);
+        if (emailChanged) {
+            // Cached principals carry the employee id resolved by email: the account with the old
+            // email loses it, one with the new email gains it.
+            invalidatePrincipals(List.of(previousEmail, request.email()));
+        }
+        eventPublisher.publishEvent(new EmployeeChangedEvent(previous, EmployeeChangedEvent.Snapshot.of(savedEmployee)));
+        return savedEmployee;
     }
 
     public Page<Employee> getEmployees(Pageable pageable, String department, EmployeeStatus status) {
+        return employeeRepository.findAll(employeeFilter(department, status), pageable);
+    }
+
+    /**
+     * Keyset (seek) pagination of the employee directory, sorted by "name" (default) or "id".
+     * Each page is read with a WHERE (name, id) > (last name, last id) predicate instead of OFFSET,
+     * so deep pages cost the same as the first one; the total is only counted when requested.
+     */
+    public CursorPageDto<Employee> scrollEmployees(String cursor, int size, String sortKey,
+                                                   String department, EmployeeStatus status, boolean includeTotal) {
+        List<String> sortKeys = switch (sortKey == null ? "name" : sortKey) {
+            case "name" -> List.of("name", "id");
+            case "id" -> List.of("id");
+            default -> throw new IllegalArgumentException("Unsupported sort key: " + sortKey);
+        };
+        Specification<Employee> spec = employeeFilter(department, status);
+        ScrollPosition position = KeysetCursor.position(cursor, sortKeys);
+
+        Window<Employee> window = employeeRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(sortKeys.toArray(String[]::new)))
+                .limit(size)
+                .scroll(position));
+
+        Long total = includeTotal ? employeeRepository.count(spec) : null;
+        return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), window.hasNext(), total);
+    }
+
+    private Specification<Employee> employeeFilter(String department, EmployeeStatus status) {
         Specification<Employee> spec = Specification.where(null);
         if (department != null && !department.isEmpty()) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("department"), department));
@@ -101,7 +162,12 @@ public class EmployeeService {
         if (status != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
-        return employeeRepository.findAll(spec, pageable);
+        return spec;
+    }
+
+    /** Evicts the cached principals of the accounts with these emails, leaving every other login cached. */
+    private void invalidatePrincipals(Collection<String> emails) {
+        userRepository.findUsernamesByEmailIn(emails).forEach(principalCache::invalidate);
     }
 
     /**
@@ -110,9 +176,10 @@ public class EmployeeService {
      * A more robust implementation would also handle User account deletion.
      */
     public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EntityNotFoundException("Employee not found with id: " + id);
-        }
-        employeeRepository.deleteById(id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
+        employeeRepository.delete(employee);
+        invalidatePrincipals(List.of(employee.getEmail())); // Drop the deleted employee id from its principal.
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(employee));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.user_employee_management_backend.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL-safe continuation tokens.
+ * A token holds the sort-key values of the last row of a page, e.g. (name, id); the
+ * next page is then read with a seek predicate instead of OFFSET. Values are restored
+ * as Long for "id" and as String for every other key.
+ */
+final class KeysetCursor {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char KEY_VALUE_SEPARATOR = '\u001E';
+
+    private KeysetCursor() {}
+
+    /**
+     * @return the cursor pointing after the last element of the window, or null when there is no next page.
+     */
+    static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        StringBuilder token = new StringBuilder();
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            if (!token.isEmpty()) {
+                token.append(FIELD_SEPARATOR);
+            }
+            token.append(key.getKey()).append(KEY_VALUE_SEPARATOR).append(key.getValue());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into a forward scroll position, checking it was issued for the given sort keys.
+     * A null or blank cursor is the start of the listing.
+     */
+    static ScrollPosition position(String cursor, List<String> sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String field : token.split(String.valueOf(FIELD_SEPARATOR))) {
+                int separator = field.indexOf(KEY_VALUE_SEPARATOR);
+                String key = field.substring(0, separator);
+                String value = field.substring(separator + 1);
+                keys.put(key, "id".equals(key) ? Long.valueOf(value) : value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (!keys.keySet().equals(Set.copyOf(sortKeys))) {
+            throw new IllegalArgumentException("The cursor does not match the requested sort order.");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.AbsenceDto;
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of approved and pending leave, for team absence queries and overlap checks
+ * without SQL range scans.
+ * Intervals are kept per employee and, per department, in a map ordered by start date. A range
+ * query only visits intervals starting between (from - longest leave in the department) and to,
+ * so it costs O(log n + k) for k matching intervals.
+ * Like {@link DashboardCounters}, the index is seeded on first use, kept current by the change
+ * events (applied after commit) and periodically rebuilt to correct drift. Only leave ending
+ * within the last {@code leave.absence-index.history-days} days is held; older ranges are
+ * answered from the database.
+ * Leave submission uses it as a quick pre-check only; because events are applied after commit,
+ * {@link LeaveService} repeats the checks against the database under a row lock.
+ */
+@Component
+public class LeaveAbsenceIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveAbsenceIndex.class);
+
+    /** The statuses that make an employee absent (or about to be). */
+    static final Set<LeaveStatus> ABSENT = EnumSet.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+
+    @Value("${leave.absence-index.history-days:365}")
+    private int historyDays;
+
+    public record Interval(long requestId, long employeeId, long leaveTypeId,
+                           LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return !startDate.isAfter(to) && !endDate.isBefore(from);
+        }
+
+        static Interval of(LeaveRequestRepository.AbsenceInterval row) {
+            return new Interval(row.getId(), row.getEmployeeId(), row.getLeaveTypeId(),
+                    row.getStartDate(), row.getEndDate(), row.getStatus());
+        }
+    }
+
+    private record EmployeeInfo(String name, String department) {}
+
+    /** One consistent index; replaced as a whole on rebuild. Guarded by {@link #lock}. */
+    private static class State {
+        final LocalDate horizon;
+        final Map<Long, EmployeeInfo> employees = new HashMap<>();
+        final Map<Long, Interval> byRequest = new HashMap<>();
+        final Map<Long, List<Interval>> byEmployee = new HashMap<>();
+        final Map<String, NavigableMap<LocalDate, List<Interval>>> byDepartment = new HashMap<>();
+        // Longest interval (in days) ever added per department; bounds how far back a range query looks.
+        final Map<String, Long> longestDays = new HashMap<>();
+
+        State(LocalDate horizon) { this.horizon = horizon; }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile State state;
+    // Changes applied while a rebuild is loading, replayed on the new state before it is swapped in.
+    // Non-null only during a rebuild; guarded by the write lock.
+    private List<Consumer<State>> pendingReplay;
+
+    // --- Queries ---
+
+    /**
+     * The employee's approved and pending leave overlapping [from, to].
+     */
+    public List<Interval> overlappingForEmployee(long employeeId, LocalDate from, LocalDate to) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            List<Interval> result = new ArrayList<>();
+            for (Interval interval : current.byEmployee.getOrDefault(employeeId, List.of())) {
+                if (interval.overlaps(from, to)) {
+                    result.add(interval);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Who is on approved or pending leave at some point in [from, to], ordered by start date.
+     * @param department null for every department.
+     */
+    public List<AbsenceDto> whoIsOut(String department, LocalDate from, LocalDate to) {
+        State current = state();
+        if (from.isBefore(current.horizon)) {
+            return leaveRequestRepository.findAbsences(ABSENT, department, from, to);
+        }
+        lock.readLock().lock();
+        try {
+            List<AbsenceDto> result = new ArrayList<>();
+            Collection<String> departments = (department == null) ? current.byDepartment.keySet() : List.of(department);
+            for (String key : departments) {
+                for (Interval interval : overlappingInDepartment(current, key, from, to)) {
+                    EmployeeInfo employee = current.employees.get(interval.employeeId());
+                    result.add(new AbsenceDto(interval.requestId(), interval.employeeId(),
+                            (employee == null) ? null : employee.name(), (employee == null) ? null : employee.department(),
+                            interval.leaveTypeId(), interval.startDate(), interval.endDate(), interval.status()));
+                }
+            }
+            result.sort(Comparator.comparing(AbsenceDto::startDate).thenComparing(AbsenceDto::requestId));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The largest number of leave intervals of the department that are active on the same day
+     * within [from, to], ignoring those of {@code excludedEmployeeId}.
+     */
+    public int peakConcurrentAbsences(String department, LocalDate from, LocalDate to, Long excludedEmployeeId) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            return peakConcurrent(overlappingInDepartment(current, department, from, to), from, to, excludedEmployeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The largest number of the given intervals active on the same day within [from, to],
+     * ignoring those of {@code excludedEmployeeId}. Also used on intervals read from the database.
+     */
+    static int peakConcurrent(Collection<Interval> intervals, LocalDate from, LocalDate to, Long excludedEmployeeId) {
+        // Sweep: +1 on the (clipped) first day of each interval, -1 on the day after its (clipped) last day.
+        TreeMap<LocalDate, Integer> changes = new TreeMap<>();
+        for (Interval interval : intervals) {
+            if (!interval.overlaps(from, to)
+                    || (excludedEmployeeId != null && interval.employeeId() == excludedEmployeeId)) {
+                continue;
+            }
+            LocalDate start = interval.startDate().isBefore(from) ? from : interval.startDate();
+            LocalDate end = interval.endDate().isAfter(to) ? to : interval.endDate();
+            changes.merge(start, 1, Integer::sum);
+            changes.merge(end.plusDays(1), -1, Integer::sum);
+        }
+        int active = 0;
+        int peak = 0;
+        for (int change : changes.values()) {
+            active += change;
+            peak = Math.max(peak, active);
+        }
+        return peak;
+    }
+
+    /** @return the employee's department, or null if unknown or unset. */
+    public String departmentOf(long employeeId) {
+        State current = state();
+        lock.readLock().lock();
+        try {
+            EmployeeInfo employee = current.employees.get(employeeId);
+            return (employee == null) ? null : employee.department();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Interval> overlappingInDepartment(State current, String department, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, List<Interval>> byStart = current.byDepartment.get(departmentKey(department));
+        if (byStart == null) {
+            return List.of();
+        }
+        long longest = current.longestDays.getOrDefault(departmentKey(department), 1L);
+        List<Interval> result = new ArrayList<>();
+        for (List<Interval> starting : byStart.subMap(from.minusDays(longest - 1), true, to, true).values()) {
+            for (Interval interval : starting) {
+                if (interval.overlaps(from, to)) {
+                    result.add(interval);
+                }
+            }
+        }
+        return result;
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) {
+                    rebuild();
+                }
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    // --- Write-path events ---
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        apply(target -> applyLeaveRequestChange(target, event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        apply(target -> applyEmployeeChange(target, event));
+    }
+
+    /**
+     * Applies a committed change to the current state and, while a rebuild is loading, records it
+     * for replay on the new state: the rebuild's queries may or may not have seen the change, and
+     * both changes are idempotent, so replaying them is always safe.
+     * Before the first seed there is nothing to update; the seed loads the committed state.
+     */
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            State current = state;
+            if (current != null) {
+                change.accept(current);
+            }
+            if (pendingReplay != null) {
+                pendingReplay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLeaveRequestChange(State target, LeaveRequestChangedEvent event) {
+        if (event.previous() != null) {
+            remove(target, event.previous().id());
+        }
+        LeaveRequestChangedEvent.Snapshot request = event.current();
+        if (request != null && ABSENT.contains(request.status()) && !request.endDate().isBefore(target.horizon)) {
+            remove(target, request.id());
+            add(target, new Interval(request.id(), request.employeeId(), request.leaveTypeId(),
+                    request.startDate(), request.endDate(), request.status()));
+        }
+    }
+
+    private void applyEmployeeChange(State target, EmployeeChangedEvent event) {
+        if (event.current() == null) {
+            Long id = event.previous().id();
+            for (Interval interval : List.copyOf(target.byEmployee.getOrDefault(id, List.of()))) {
+                remove(target, interval.requestId());
+            }
+            target.employees.remove(id);
+            return;
+        }
+        EmployeeChangedEvent.Snapshot employee = event.current();
+        List<Interval> intervals = List.copyOf(target.byEmployee.getOrDefault(employee.id(), List.of()));
+        // Re-adding moves the intervals to the new department if it changed.
+        intervals.forEach(interval -> remove(target, interval.requestId()));
+        target.employees.put(employee.id(), new EmployeeInfo(employee.name(), employee.department()));
+        intervals.forEach(interval -> add(target, interval));
+    }
+
+    private void add(State target, Interval interval) {
+        target.byRequest.put(interval.requestId(), interval);
+        target.byEmployee.computeIfAbsent(interval.employeeId(), id -> new ArrayList<>()).add(interval);
+        EmployeeInfo employee = target.employees.get(interval.employeeId());
+        String department = departmentKey((employee == null) ? null : employee.department());
+        target.byDepartment.computeIfAbsent(department, d -> new TreeMap<>())
+                .computeIfAbsent(interval.startDate(), d -> new ArrayList<>(2)).add(interval);
+        long days = ChronoUnit.DAYS.between(interval.startDate(), interval.endDate()) + 1;
+        target.longestDays.merge(department, days, Math::max);
+    }
+
+    private void remove(State target, long requestId) {
+        Interval interval = target.byRequest.remove(requestId);
+        if (interval == null) {
+            return;
+        }
+        List<Interval> ofEmployee = target.byEmployee.get(interval.employeeId());
+        if (ofEmployee != null) {
+            ofEmployee.remove(interval);
+            if (ofEmployee.isEmpty()) {
+                target.byEmployee.remove(interval.employeeId());
+            }
+        }
+        for (NavigableMap<LocalDate, List<Interval>> byStart : target.byDepartment.values()) {
+            List<Interval> starting = byStart.get(interval.startDate());
+            if (starting != null && starting.remove(interval)) {
+                if (starting.isEmpty()) {
+                    byStart.remove(interval.startDate());
+                }
+                break;
+            }
+        }
+    }
+
+    // Employees without a department are grouped under the empty key.
+    private static String departmentKey(String department) {
+        return (department == null) ? "" : department;
+    }
+
+    // --- Seeding and rebuild ---
+
+    /**
+     * Rebuilds the index from the database and swaps it in at once.
+     * Changes committed while the queries run are recorded and replayed on the new state before
+     * the swap, so none is lost; reads keep using the old state meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${leave.absence-index.rebuild-interval-ms:600000}",
+            initialDelayString = "${leave.absence-index.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        State fresh = new State(LocalDate.now().minusDays(historyDays));
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<LeaveRequestRepository.AbsenceInterval> rows;
+        try {
+            for (EmployeeRepository.DirectoryEntry employee : employeeRepository.findDirectoryEntries()) {
+                fresh.employees.put(employee.getId(), new EmployeeInfo(employee.getName(), employee.getDepartment()));
+            }
+            rows = leaveRequestRepository.findAbsenceIntervals(ABSENT, fresh.horizon);
+            for (LeaveRequestRepository.AbsenceInterval row : rows) {
+                add(fresh, Interval.of(row));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingReplay.forEach(change -> change.accept(fresh));
+            pendingReplay = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Absence index rebuilt with {} intervals in {} ms", rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
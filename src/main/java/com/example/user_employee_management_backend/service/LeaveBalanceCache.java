@@ -0,0 +1,75 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveTypeChangedEvent;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.repository.LeaveBalanceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Remaining days per (employee, leave type), for the balance check on leave submission.
+ * An entry is dropped after commit when an approval deducts from that balance, and all entries
+ * when a leave type changes; entries also expire after {@code leave.balance-cache.ttl-ms} to
+ * bound drift from writes made outside this service. Missing balances are not cached.
+ * A stale value can at most let a submission past the check: approval deducts with a
+ * conditional UPDATE against the database (LeaveBalanceRepository.deductIfSufficient).
+ */
+@Component
+public class LeaveBalanceCache {
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Value("${leave.balance-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${leave.balance-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private record Key(Long employeeId, Long leaveTypeId) {}
+
+    private Cache<Key, Integer> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    /** @return the remaining days, or null if the employee has no balance of that type. */
+    public Integer remainingDays(Long employeeId, Long leaveTypeId) {
+        return cache.get(new Key(employeeId, leaveTypeId),
+                key -> leaveBalanceRepository.findRemainingDays(employeeId, leaveTypeId).orElse(null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        LeaveRequestChangedEvent.Snapshot current = event.current();
+        boolean approvedNow = current.status() == LeaveStatus.APPROVED
+                && (event.previous() == null || event.previous().status() != LeaveStatus.APPROVED);
+        if (approvedNow) {
+            cache.invalidate(new Key(current.employeeId(), current.leaveTypeId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveTypeChanged(LeaveTypeChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    /** For the cache metrics (see MetricsConfig). */
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+}
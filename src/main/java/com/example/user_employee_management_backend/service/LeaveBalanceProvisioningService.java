@@ -0,0 +1,50 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.repository.LeaveBalanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Creates default leave balances in bulk.
+ * Balances use IDENTITY keys, which Hibernate cannot batch, so instead of saving one
+ * LeaveBalance per (employee, leave type) the missing pairs are inserted set-based in SQL.
+ */
+@Service
+public class LeaveBalanceProvisioningService {
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    /**
+     * Ensures every employee has a balance for every leave type.
+     * @return the number of balances created.
+     */
+    @Transactional
+    public int provisionMissingBalances() {
+        return leaveBalanceRepository.insertMissingBalances();
+    }
+
+    /**
+     * Ensures the given employees have a balance for every leave type.
+     * @return the number of balances created.
+     */
+    @Transactional
+    public int provisionBalancesFor(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return 0;
+        }
+        return leaveBalanceRepository.insertMissingBalancesForEmployees(employeeIds);
+    }
+
+    /**
+     * Gives every employee a balance of the (new) leave type, at its default days.
+     * @return the number of balances created.
+     */
+    @Transactional
+    public int provisionBalancesForLeaveType(Long leaveTypeId) {
+        return leaveBalanceRepository.insertMissingBalancesForLeaveType(leaveTypeId);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveBatchDecisionReportDto;
+import com.example.user_employee_management_backend.dto.LeaveDecisionDto;
+import com.example.user_employee_management_backend.dto.LeaveDecisionResultDto;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.model.LeaveBalance;
+import com.example.user_employee_management_backend.model.LeaveRequest;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.repository.LeaveBalanceRepository;
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Approves and rejects many leave requests in one call.
+ * Decisions are processed in chunks, each in its own transaction: the chunk's requests are
+ * loaded with one query, approvals are deducted with one conditional UPDATE per balance
+ * (not per request), and the status changes are written with one UPDATE per target status.
+ * If a chunk cannot be applied as a whole, e.g. because another manager decided one of its
+ * requests concurrently, it is retried item by item, so a partial failure never rolls back
+ * the rest of the batch.
+ */
+@Service
+public class LeaveBatchDecisionService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveBatchDecisionService.class);
+
+    @Autowired private LeaveService leaveService;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @Value("${leave.batch-decision.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${leave.batch-decision.max-items:5000}")
+    private int maxItems;
+
+    private record Decision(int index, Long requestId, LeaveStatus status) {}
+
+    private record BalanceKey(Long employeeId, Long leaveTypeId) {}
+
+    /** Thrown inside a chunk transaction to roll it back and retry its items one by one. */
+    private static class ChunkConflictException extends RuntimeException {
+        ChunkConflictException(String message) { super(message); }
+    }
+
+    public LeaveBatchDecisionReportDto decide(List<LeaveDecisionDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one decision is required.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxItems + " decisions.");
+        }
+        long start = System.nanoTime();
+        LeaveDecisionResultDto[] results = new LeaveDecisionResultDto[items.size()];
+
+        // Reject malformed and duplicate items up front; they never reach the database.
+        List<Decision> decisions = new ArrayList<>(items.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            LeaveDecisionDto item = items.get(i);
+            LeaveStatus status = parseStatus(item.status());
+            if (item.requestId() == null) {
+                results[i] = failure(null, item.status(), "Request id is required.");
+            } else if (status == null) {
+                results[i] = failure(item.requestId(), item.status(), "Status must be APPROVED or DENIED.");
+            } else if (!seen.add(item.requestId())) {
+                results[i] = failure(item.requestId(), item.status(), "Duplicate request id in batch.");
+            } else {
+                decisions.add(new Decision(i, item.requestId(), status));
+            }
+        }
+
+        for (int from = 0; from < decisions.size(); from += chunkSize) {
+            List<Decision> chunk = decisions.subList(from, Math.min(from + chunkSize, decisions.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyChunk(chunk, results));
+            } catch (RuntimeException chunkFailure) {
+                logger.warn("Leave decision chunk failed, retrying item by item: {}", chunkFailure.getMessage());
+                for (Decision decision : chunk) {
+                    results[decision.index()] = decideOne(decision);
+                }
+            }
+        }
+
+        int succeeded = 0;
+        for (LeaveDecisionResultDto result : results) {
+            if (result.success()) {
+                succeeded++;
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Leave batch decision: {} items, {} succeeded in {} ms", results.length, succeeded, elapsedMs);
+        return new LeaveBatchDecisionReportDto(results.length, succeeded, results.length - succeeded,
+                elapsedMs, Arrays.asList(results));
+    }
+
+    private void applyChunk(List<Decision> chunk, LeaveDecisionResultDto[] results) {
+        // --- 1. Load the chunk's requests with one query ---
+        Map<Long, LeaveRequest> requests = new HashMap<>();
+        for (LeaveRequest request : leaveRequestRepository.findAllById(chunk.stream().map(Decision::requestId).toList())) {
+            requests.put(request.getId(), request);
+        }
+
+        Map<BalanceKey, List<Decision>> approvalsByBalance = new LinkedHashMap<>();
+        Map<LeaveStatus, List<Decision>> accepted = new EnumMap<>(LeaveStatus.class);
+        for (Decision decision : chunk) {
+            LeaveRequest request = requests.get(decision.requestId());
+            if (request == null) {
+                results[decision.index()] = failure(decision, "Leave Request not found with ID: " + decision.requestId());
+            } else if (request.getStatus() != LeaveStatus.PENDING) {
+                results[decision.index()] = failure(decision, "This leave request has already been processed.");
+            } else if (decision.status() == LeaveStatus.APPROVED) {
+                // The ids come from the lazy proxies without loading the employee or leave type.
+                BalanceKey key = new BalanceKey(request.getEmployee().getId(), request.getLeaveType().getId());
+                approvalsByBalance.computeIfAbsent(key, k -> new ArrayList<>()).add(decision);
+            } else {
+                accepted.computeIfAbsent(decision.status(), s -> new ArrayList<>()).add(decision);
+            }
+        }
+
+        // --- 2. Deduct approvals with one conditional UPDATE per balance ---
+        for (Map.Entry<BalanceKey, List<Decision>> group : approvalsByBalance.entrySet()) {
+            BalanceKey key = group.getKey();
+            List<Decision> approvals = group.getValue();
+            int totalDays = 0;
+            for (Decision decision : approvals) {
+                totalDays += requests.get(decision.requestId()).getNumDays().intValue();
+            }
+            if (leaveBalanceRepository.deductIfSufficient(key.employeeId(), key.leaveTypeId(), totalDays) == 1) {
+                accepted.computeIfAbsent(LeaveStatus.APPROVED, s -> new ArrayList<>()).addAll(approvals);
+                continue;
+            }
+
+            // Not enough for all of them: approve in submission order while the balance lasts.
+            Optional<LeaveBalance> balance = leaveBalanceRepository.findByEmployeeIdAndLeaveTypeId(key.employeeId(), key.leaveTypeId());
+            if (balance.isEmpty()) {
+                approvals.forEach(d -> results[d.index()] = failure(d, "No leave balance found for this employee and leave type."));
+                continue;
+            }
+            int remaining = balance.get().getRemainingDays();
+            int approvedDays = 0;
+            for (Decision decision : approvals) {
+                int days = requests.get(decision.requestId()).getNumDays().intValue();
+                if (approvedDays + days <= remaining) {
+                    approvedDays += days;
+                    accepted.computeIfAbsent(LeaveStatus.APPROVED, s -> new ArrayList<>()).add(decision);
+                } else {
+                    results[decision.index()] = failure(decision, "Cannot approve. Employee has insufficient leave balance.");
+                }
+            }
+            if (approvedDays > 0 && leaveBalanceRepository.deductIfSufficient(key.employeeId(), key.leaveTypeId(), approvedDays) == 0) {
+                throw new ChunkConflictException("Leave balance changed concurrently.");
+            }
+        }
+
+        // --- 3. Write the status changes with one UPDATE per target status ---
+        List<LeaveRequestChangedEvent> events = new ArrayList<>();
+        for (Map.Entry<LeaveStatus, List<Decision>> target : accepted.entrySet()) {
+            List<Long> ids = target.getValue().stream().map(Decision::requestId).toList();
+            for (Decision decision : target.getValue()) {
+                LeaveRequestChangedEvent.Snapshot previous = LeaveRequestChangedEvent.Snapshot.of(requests.get(decision.requestId()));
+                events.add(new LeaveRequestChangedEvent(previous, previous.withStatus(target.getKey())));
+            }
+            if (leaveRequestRepository.updateStatusWhereStatus(ids, LeaveStatus.PENDING, target.getKey()) != ids.size()) {
+                throw new ChunkConflictException("A leave request in the chunk was decided concurrently.");
+            }
+            for (Decision decision : target.getValue()) {
+                results[decision.index()] = new LeaveDecisionResultDto(decision.requestId(), decision.status().name(), true, null);
+            }
+        }
+
+        // Delivered after commit, so a rolled-back chunk publishes nothing.
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private LeaveDecisionResultDto decideOne(Decision decision) {
+        try {
+            leaveService.updateRequestStatus(decision.requestId(), decision.status());
+            return new LeaveDecisionResultDto(decision.requestId(), decision.status().name(), true, null);
+        } catch (RuntimeException e) {
+            return failure(decision, e.getMessage());
+        }
+    }
+
+    private static LeaveStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status.toUpperCase(Locale.ROOT)) {
+            case "APPROVED" -> LeaveStatus.APPROVED;
+            case "DENIED" -> LeaveStatus.DENIED;
+            default -> null;
+        };
+    }
+
+    private static LeaveDecisionResultDto failure(Decision decision, String message) {
+        return failure(decision.requestId(), decision.status().name(), message);
+    }
+
+    private static LeaveDecisionResultDto failure(Long requestId, String status, String message) {
+        return new LeaveDecisionResultDto(requestId, status, false, message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.model.LeaveRequest;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Fills {@link LeaveRequest#getNumDays()} from the working-day calendar when a request is first saved.
+ * It is registered for LeaveRequest in META-INF/orm.xml, so the model does not depend on this package;
+ * Hibernate obtains entity listeners from the Spring context, so the calendar is injected.
+ * The count is not recalculated on update: approval deducts the stored value, so what is charged
+ * is always what the request shows, whichever path approves it.
+ */
+public class LeaveRequestDaysListener {
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    @PrePersist
+    public void calculateNumDays(LeaveRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null) {
+            request.setNumDays(workingDayCalendar.workingDaysBetween(request.getStartDate(), request.getEndDate()));
+        } else {
+            // If dates are not set, default to 0 days
+            request.setNumDays(0L);
+        }
+    }
+}
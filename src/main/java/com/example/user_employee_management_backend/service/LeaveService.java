@@ -1,19 +1,33 @@
 package com.example.user_employee_management_backend.service;
 
+import com.example.user_employee_management_backend.dto.AbsenceDto;
+import com.example.user_employee_management_backend.dto.CursorPageDto;
 import com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto;
 import com.example.user_employee_management_backend.dto.LeaveRequestDto;
 import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
 import com.example.user_employee_management_backend.model.*;
 import com.example.user_employee_management_backend.repository.*;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+@Timed(value = "app.service", description = "Service method latency")
 @Service
 @Transactional(readOnly = true) // Set a default read-only transaction for all methods
 public class LeaveService {
@@ -22,24 +36,71 @@ public class LeaveService {
     @Autowired private LeaveBalanceRepository leaveBalanceRepository;
     @Autowired private EmployeeRepository employeeRepository;
     @Autowired private LeaveTypeRepository leaveTypeRepository;
-    @Autowired private UserRepository userRepository;
+    @Autowired private LeaveTypeCatalog leaveTypeCatalog;
+    @Autowired private LeaveBalanceCache leaveBalanceCache;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private LeaveAbsenceIndex absenceIndex;
+    @Autowired private WorkingDayCalendar workingDayCalendar;
 
+    // 0 disables the cap.
+    @Value("${leave.absence.max-concurrent-per-department:0}")
+    private int maxConcurrentPerDepartment;
+
+    // Longest request accepted, in calendar days; also bounds the calendar work per request.
+    @Value("${leave.max-span-days:366}")
+    private long maxSpanDays;
+
+    private static final List<String> PENDING_SORT_KEYS = List.of("startDate", "id");
+
+    /**
+     * @param employeeId The caller's employee id, resolved at authentication time and carried
+     *                   in the principal, so no identity lookup is needed here.
+     */
     @Transactional
-    public LeaveRequest submitLeaveRequest(String username, LeaveRequestDto requestDto) {
+    public LeaveRequest submitLeaveRequest(Long employeeId, LeaveRequestDto requestDto) {
         if (requestDto.endDate().isBefore(requestDto.startDate())) {
             throw new IllegalArgumentException("Leave end date cannot be before the start date.");
         }
-        Employee employee = findEmployeeByUsername(username);
-        LeaveType leaveType = leaveTypeRepository.findById(requestDto.leaveTypeId())
-                .orElseThrow(() -> new EntityNotFoundException("Leave Type not found"));
-
-        // The num_days calculation will now be handled by the @PrePersist method in LeaveRequest entity.
-        long daysRequested = ChronoUnit.DAYS.between(requestDto.startDate(), requestDto.endDate()) + 1; // Still needed for balance check
+        if (ChronoUnit.DAYS.between(requestDto.startDate(), requestDto.endDate()) + 1 > maxSpanDays) {
+            throw new IllegalArgumentException("A leave request cannot span more than " + maxSpanDays + " days.");
+        }
+        // Overlap and team-capacity checks are first answered from the in-memory absence index,
+        // which rejects the common conflicts without locking or SQL range scans.
+        List<LeaveAbsenceIndex.Interval> overlapping =
+                absenceIndex.overlappingForEmployee(employeeId, requestDto.startDate(), requestDto.endDate());
+        if (!overlapping.isEmpty()) {
+            throw overlapError(overlapping.get(0));
+        }
+        if (maxConcurrentPerDepartment > 0) {
+            String department = absenceIndex.departmentOf(employeeId);
+            if (department != null && absenceIndex.peakConcurrentAbsences(department, requestDto.startDate(),
+                    requestDto.endDate(), employeeId) >= maxConcurrentPerDepartment) {
+                throw capacityError();
+            }
+        }
+        // The index only sees committed requests, so two concurrent submissions (a double click)
+        // would both pass it. Repeat the checks against the database while holding the row lock.
+        checkAgainstDatabase(employeeId, requestDto.startDate(), requestDto.endDate());
+        // The leave type is checked against the in-memory catalog; references are enough to link
+        // the request, so neither the employee nor the leave type row is read.
+        Long leaveTypeId = leaveTypeCatalog.find(requestDto.leaveTypeId())
+                .orElseThrow(() -> new EntityNotFoundException("Leave Type not found"))
+                .id();
+        Employee employee = employeeRepository.getReferenceById(employeeId);
+        LeaveType leaveType = leaveTypeRepository.getReferenceById(leaveTypeId);
 
-        LeaveBalance balance = leaveBalanceRepository.findByEmployeeAndLeaveType(employee, leaveType)
-                .orElseThrow(() -> new IllegalStateException("No leave balance found for this leave type."));
+        // Charged in working days, the same count LeaveRequestDaysListener stores in num_days.
+        long daysRequested = workingDayCalendar.workingDaysBetween(requestDto.startDate(), requestDto.endDate());
+        if (daysRequested == 0) {
+            throw new IllegalArgumentException("The requested dates contain no working days.");
+        }
 
-        if (balance.getRemainingDays() < daysRequested) {
+        // From the balance cache; approval re-checks against the database when it deducts.
+        Integer remainingDays = leaveBalanceCache.remainingDays(employeeId, leaveTypeId);
+        if (remainingDays == null) {
+            throw new IllegalStateException("No leave balance found for this leave type.");
+        }
+        if (remainingDays < daysRequested) {
             throw new IllegalStateException("Insufficient leave balance.");
         }
         LeaveRequest leaveRequest = new LeaveRequest();
@@ -49,47 +110,127 @@ public class LeaveService {
         leaveRequest.setEndDate(requestDto.endDate());
         leaveRequest.setReason(requestDto.reason());
         leaveRequest.setStatus(LeaveStatus.PENDING);
-        // numDays is now automatically calculated by the @PrePersist method in the entity
-        return leaveRequestRepository.save(leaveRequest);
+        // numDays is calculated automatically by LeaveRequestDaysListener before persisting
+        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        eventPublisher.publishEvent(LeaveRequestChangedEvent.submitted(savedRequest));
+        return savedRequest;
     }
 
     /**
-     * Retrieves all leave requests for an employee AND converts them to DTOs.
-     * The return type is now List<LeaveRequestResponseDto>.
+     * Locks the employee's row (or, while the department cap is enforced, the rows of the whole
+     * department) and re-checks overlap and capacity on the database. Submissions that conflict
+     * therefore run one after the other, and the second one sees the first once it commits.
      */
-    public List<LeaveRequestResponseDto> getMyLeaveRequests(String username) {
-        Employee employee = findEmployeeByUsername(username);
-        List<LeaveRequest> requests = leaveRequestRepository.findByEmployeeId(employee.getId());
-        return requests.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    private void checkAgainstDatabase(Long employeeId, LocalDate from, LocalDate to) {
+        String department = null;
+        boolean locked = false;
+        if (maxConcurrentPerDepartment > 0) {
+            department = absenceIndex.departmentOf(employeeId);
+            locked = department != null && employeeRepository.lockIdsByDepartment(department).contains(employeeId);
+        }
+        if (!locked) {
+            // Not capped, or the employee moved department since the index last saw them.
+            department = employeeRepository.lockDirectoryEntry(employeeId)
+                    .orElseThrow(() -> new EntityNotFoundException("Employee not found"))
+                    .getDepartment();
+        }
+        List<LeaveRequestRepository.AbsenceInterval> overlapping =
+                leaveRequestRepository.findOverlappingForEmployee(employeeId, LeaveAbsenceIndex.ABSENT, from, to);
+        if (!overlapping.isEmpty()) {
+            throw overlapError(LeaveAbsenceIndex.Interval.of(overlapping.get(0)));
+        }
+        if (maxConcurrentPerDepartment > 0 && department != null) {
+            List<LeaveAbsenceIndex.Interval> absences = leaveRequestRepository
+                    .findAbsences(LeaveAbsenceIndex.ABSENT, department, from, to).stream()
+                    .map(a -> new LeaveAbsenceIndex.Interval(a.requestId(), a.employeeId(), a.leaveTypeId(),
+                            a.startDate(), a.endDate(), a.status()))
+                    .toList();
+            if (LeaveAbsenceIndex.peakConcurrent(absences, from, to, employeeId) >= maxConcurrentPerDepartment) {
+                throw capacityError();
+            }
+        }
+    }
+
+    private static IllegalStateException overlapError(LeaveAbsenceIndex.Interval existing) {
+        return new IllegalStateException("The requested dates overlap your " + existing.status().name().toLowerCase()
+                + " leave from " + existing.startDate() + " to " + existing.endDate() + ".");
+    }
+
+    private static IllegalStateException capacityError() {
+        return new IllegalStateException("Too many colleagues in your department are already on leave during these dates.");
     }
 
     /**
-     * Retrieves all leave balances for an employee AND converts them to DTOs.
-     * The return type is now List<LeaveBalanceResponseDto>.
+     * Retrieves all leave requests for an employee as DTOs.
+     * The DTO columns are selected directly, so no entity graph is loaded.
      */
-    public List<LeaveBalanceResponseDto> getMyLeaveBalances(String username) {
-        Employee employee = findEmployeeByUsername(username);
-        List<LeaveBalance> balances = leaveBalanceRepository.findByEmployeeId(employee.getId());
-        return balances.stream()
-                .map(LeaveBalanceResponseDto::fromEntity)
-                .collect(Collectors.toList());
+    public List<LeaveRequestResponseDto> getMyLeaveRequests(Long employeeId) {
+        return leaveRequestRepository.findResponseDtosByEmployeeId(employeeId);
     }
 
     /**
-     * Retrieves all PENDING leave requests and converts them to DTOs for the manager.
-     * It now calls the new, optimized repository method.
+     * Retrieves all leave balances for an employee as DTOs.
+     */
+    public List<LeaveBalanceResponseDto> getMyLeaveBalances(Long employeeId) {
+        return leaveBalanceRepository.findResponseDtosByEmployeeId(employeeId);
+    }
+
+    /**
+     * Approved and pending leave overlapping [from, to], optionally for one department.
+     */
+    public List<AbsenceDto> whoIsOut(String department, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' cannot be before 'from'.");
+        }
+        return absenceIndex.whoIsOut(department, from, to);
+    }
+
+    /**
+     * Retrieves all PENDING leave requests as DTOs for the manager, in a single join query.
      */
     public List<LeaveRequestResponseDto> getPendingRequests() {
-        List<LeaveRequest> pendingRequests = leaveRequestRepository.findByStatusWithDetails(LeaveStatus.PENDING);
+        return leaveRequestRepository.findResponseDtosByStatus(LeaveStatus.PENDING);
+    }
 
-        if (pendingRequests == null) {
-            return Collections.emptyList();
+    /**
+     * Keyset (seek) pagination of the PENDING queue, ordered by start date then id, with optional
+     * department, leave type and date-window filters. Deep pages cost the same as the first one;
+     * the total is only counted when requested.
+     */
+    public CursorPageDto<LeaveRequestResponseDto> scrollPendingRequests(String cursor, int size, String department,
+                                                                        Long leaveTypeId, LocalDate from, LocalDate to,
+                                                                        boolean includeTotal) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' cannot be before 'from'.");
         }
-        return pendingRequests.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        LocalDate afterStartDate = null;
+        Long afterId = null;
+        if (KeysetCursor.position(cursor, PENDING_SORT_KEYS) instanceof KeysetScrollPosition position
+                && !position.getKeys().isEmpty()) {
+            try {
+                afterStartDate = LocalDate.parse((String) position.getKeys().get("startDate"));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            afterId = (Long) position.getKeys().get("id");
+        }
+
+        // One extra row tells whether there is a next page.
+        List<LeaveRequestResponseDto> rows = leaveRequestRepository.findResponseDtosByStatusAfter(LeaveStatus.PENDING,
+                department, leaveTypeId, from, to, afterStartDate, afterId, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<LeaveRequestResponseDto> content = hasNext ? rows.subList(0, size) : rows;
+        Window<LeaveRequestResponseDto> window = Window.from(content, i -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("startDate", content.get(i).startDate());
+            keys.put("id", content.get(i).id());
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+
+        Long total = includeTotal
+                ? leaveRequestRepository.countByStatusFiltered(LeaveStatus.PENDING, department, leaveTypeId, from, to)
+                : null;
+        return new CursorPageDto<>(content, KeysetCursor.next(window), hasNext, total);
     }
 
     @Transactional
@@ -100,49 +241,35 @@ public class LeaveService {
         if (request.getStatus() != LeaveStatus.PENDING) {
             throw new IllegalStateException("This leave request has already been processed.");
         }
+        LeaveRequestChangedEvent.Snapshot previous = LeaveRequestChangedEvent.Snapshot.of(request);
 
         // Only deduct days if the request is being approved
         if (newStatus == LeaveStatus.APPROVED) {
-            // Use the numDays from the entity, which is calculated by @PrePersist/@PreUpdate
-            long daysRequested = request.getNumDays(); // Use the already calculated numDays
-
-            LeaveBalance balance = leaveBalanceRepository.findByEmployeeAndLeaveType(request.getEmployee(), request.getLeaveType())
-                    .orElseThrow(() -> new IllegalStateException("No leave balance found for this employee and leave type."));
+            // The numDays stored when the request was submitted; the batch path deducts the same value.
+            int daysRequested = request.getNumDays().intValue();
+            // The ids come from the lazy proxies without loading the employee or leave type.
+            Long employeeId = request.getEmployee().getId();
+            Long leaveTypeId = request.getLeaveType().getId();
 
-            if (balance.getRemainingDays() < daysRequested) {
+            // Check-and-deduct in a single conditional UPDATE; no read-modify-write race.
+            if (leaveBalanceRepository.deductIfSufficient(employeeId, leaveTypeId, daysRequested) == 0) {
+                if (!leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeId(employeeId, leaveTypeId)) {
+                    throw new IllegalStateException("No leave balance found for this employee and leave type.");
+                }
                 throw new IllegalStateException("Cannot approve. Employee has insufficient leave balance.");
             }
-
-            balance.setRemainingDays(balance.getRemainingDays() - (int) daysRequested);
-            leaveBalanceRepository.save(balance); // Save the updated balance
         }
 
         request.setStatus(newStatus);
-        return leaveRequestRepository.save(request);
-    }
-
-    private Employee findEmployeeByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + username));
-        return employeeRepository.findByEmail(user.getEmail())
-                .orElseThrow(() -> new EntityNotFoundException("No employee profile is associated with your user account."));
-    }
-
-    /**
-     * Private helper method to convert a LeaveRequest entity to its DTO representation.
-     */
-    private LeaveRequestResponseDto convertToResponseDto(LeaveRequest leaveRequest) {
-        String employeeName = (leaveRequest.getEmployee() != null) ? leaveRequest.getEmployee().getName() : "Unknown Employee";
-        String leaveTypeName = (leaveRequest.getLeaveType() != null) ? leaveRequest.getLeaveType().getName() : "Unknown Type";
-
-        return new LeaveRequestResponseDto(
-                leaveRequest.getId(),
-                employeeName,
-                leaveTypeName,
-                leaveRequest.getStartDate(),
-                leaveRequest.getEndDate(),
-                leaveRequest.getStatus(),
-                leaveRequest.getReason()
-        );
+        LeaveRequest savedRequest;
+        try {
+            // Flushed here so a concurrent decision on the same request fails this call
+            // (rolling back the deduction above) instead of surfacing at commit.
+            savedRequest = leaveRequestRepository.saveAndFlush(request);
+        } catch (OptimisticLockingFailureException e) {
+            throw new IllegalStateException("This leave request has already been processed.");
+        }
+        eventPublisher.publishEvent(new LeaveRequestChangedEvent(previous, LeaveRequestChangedEvent.Snapshot.of(savedRequest)));
+        return savedRequest;
     }
 }
@@ -0,0 +1,106 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
+import com.example.user_employee_management_backend.event.LeaveTypeChangedEvent;
+import com.example.user_employee_management_backend.repository.LeaveTypeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The leave types, served from memory.
+ * They are read on every leave submission and type listing but only change through the admin
+ * API (LeaveTypeService), which publishes a LeaveTypeChangedEvent: the snapshot is dropped after
+ * that commit and reloaded with one query on the next read. A lookup of an unknown id also
+ * reloads, so types inserted outside the service are picked up, but at most once per
+ * {@code leave.types.miss-reload-interval-ms}: requests with made-up ids cannot turn into one
+ * query each. A reload that finds the same types keeps the snapshot, and with it the ETag.
+ */
+@Component
+public class LeaveTypeCatalog {
+
+    private static final String ALL = "all";
+
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Value("${leave.types.miss-reload-interval-ms:10000}")
+    private long missReloadIntervalMs;
+
+    /**
+     * Every type by id, in name order, with the number of the load that produced it; the version
+     * is the ETag of the type list, so a tag always matches the content it was served with.
+     */
+    public record Snapshot(long version, Map<Long, LeaveTypeDto> byId) {
+        public List<LeaveTypeDto> types() {
+            return List.copyOf(byId.values());
+        }
+    }
+
+    private final AtomicLong loads = new AtomicLong();
+    // Epoch millis before which an unknown id does not reload the catalog again.
+    private final AtomicLong nextMissReload = new AtomicLong();
+    // The snapshot last loaded, so a reload with unchanged contents can keep it.
+    private volatile Snapshot last;
+
+    // A single entry holding the current snapshot.
+    private final LoadingCache<String, Snapshot> cache = Caffeine.newBuilder()
+            .maximumSize(1)
+            .recordStats()
+            .build(key -> load());
+
+    public Snapshot snapshot() {
+        return cache.get(ALL);
+    }
+
+    public List<LeaveTypeDto> all() {
+        return snapshot().types();
+    }
+
+    public Optional<LeaveTypeDto> find(Long id) {
+        LeaveTypeDto leaveType = snapshot().byId().get(id);
+        if (leaveType == null && claimMissReload()) {
+            cache.invalidate(ALL);
+            leaveType = snapshot().byId().get(id);
+        }
+        return Optional.ofNullable(leaveType);
+    }
+
+    private boolean claimMissReload() {
+        long now = System.currentTimeMillis();
+        long next = nextMissReload.get();
+        return now >= next && nextMissReload.compareAndSet(next, now + missReloadIntervalMs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveTypeChanged(LeaveTypeChangedEvent event) {
+        cache.invalidate(ALL);
+    }
+
+    /** For the cache metrics (see MetricsConfig). */
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    private Snapshot load() {
+        Map<Long, LeaveTypeDto> byId = new LinkedHashMap<>();
+        leaveTypeRepository.findAll().stream()
+                .map(LeaveTypeDto::fromEntity)
+                .sorted(Comparator.comparing(LeaveTypeDto::name))
+                .forEach(t -> byId.put(t.id(), t));
+        Snapshot previous = last;
+        if (previous != null && previous.byId().equals(byId)) {
+            return previous;
+        }
+        Snapshot loaded = new Snapshot(loads.incrementAndGet(), Collections.unmodifiableMap(byId));
+        last = loaded;
+        return loaded;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeRequest;
+import com.example.user_employee_management_backend.event.LeaveTypeChangedEvent;
+import com.example.user_employee_management_backend.model.LeaveType;
+import com.example.user_employee_management_backend.repository.LeaveBalanceRepository;
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
+import com.example.user_employee_management_backend.repository.LeaveTypeRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Admin management of leave types. Reads go through the in-memory LeaveTypeCatalog; every
+ * write publishes a LeaveTypeChangedEvent, which drops the catalog and balance caches after commit.
+ */
+@Timed(value = "app.service", description = "Service method latency")
+@Service
+@Transactional(readOnly = true)
+public class LeaveTypeService {
+
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private LeaveBalanceProvisioningService leaveBalanceProvisioningService;
+    @Autowired private LeaveTypeCatalog leaveTypeCatalog;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    public List<LeaveTypeDto> getLeaveTypes() {
+        return leaveTypeCatalog.all();
+    }
+
+    /** The types together with the catalog version they were loaded as, for the ETag of the list. */
+    public LeaveTypeCatalog.Snapshot getLeaveTypeSnapshot() {
+        return leaveTypeCatalog.snapshot();
+    }
+
+    /**
+     * Creates a leave type and gives every existing employee a balance of its default days.
+     */
+    @Transactional
+    public LeaveTypeDto createLeaveType(LeaveTypeRequest request) {
+        String name = request.name().trim();
+        if (leaveTypeRepository.findByName(name).isPresent()) {
+            throw new IllegalArgumentException("A leave type named '" + name + "' already exists.");
+        }
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName(name);
+        leaveType.setDefaultDays(request.defaultDays());
+        LeaveType saved = leaveTypeRepository.save(leaveType);
+        leaveBalanceProvisioningService.provisionBalancesForLeaveType(saved.getId());
+        eventPublisher.publishEvent(new LeaveTypeChangedEvent(saved.getId()));
+        return LeaveTypeDto.fromEntity(saved);
+    }
+
+    /**
+     * Renames a leave type or changes its default days. Existing balances are left as they are;
+     * the new default applies to employees onboarded afterwards.
+     */
+    @Transactional
+    public LeaveTypeDto updateLeaveType(Long id, LeaveTypeRequest request) {
+        LeaveType leaveType = leaveTypeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Leave type not found with id: " + id));
+        String name = request.name().trim();
+        leaveTypeRepository.findByName(name)
+                .filter(other -> !other.getId().equals(id))
+                .ifPresent(other -> {
+                    throw new IllegalArgumentException("A leave type named '" + name + "' already exists.");
+                });
+        leaveType.setName(name);
+        leaveType.setDefaultDays(request.defaultDays());
+        eventPublisher.publishEvent(new LeaveTypeChangedEvent(id));
+        return LeaveTypeDto.fromEntity(leaveType);
+    }
+
+    /**
+     * Deletes a leave type and its balances. Types that leave requests refer to cannot be deleted.
+     */
+    @Transactional
+    public void deleteLeaveType(Long id) {
+        LeaveType leaveType = leaveTypeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Leave type not found with id: " + id));
+        if (leaveRequestRepository.existsByLeaveTypeId(id)) {
+            throw new IllegalStateException("This leave type is used by leave requests and cannot be deleted.");
+        }
+        leaveBalanceRepository.deleteByLeaveTypeId(id);
+        leaveTypeRepository.delete(leaveType);
+        eventPublisher.publishEvent(new LeaveTypeChangedEvent(id));
+    }
+}
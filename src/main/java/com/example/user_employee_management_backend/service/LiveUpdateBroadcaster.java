@@ -0,0 +1,343 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.model.Role;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes leave queue changes and dashboard counter deltas to subscribed clients over
+ * Server-Sent Events, replacing polling of the pending queue and the dashboard stats.
+ * Connections are held as async requests, so an idle subscriber costs no servlet thread.
+ * Events are taken from the write paths after commit, serialized once, and queued per subscriber;
+ * a small pool of sender threads writes each subscriber's queue in order, one subscriber per thread
+ * at a time. A slow client therefore only delays its own stream, never the request that caused the
+ * change or the other subscribers. A subscriber whose queue reaches
+ * {@code live-updates.subscriber-buffer} events is disconnected.
+ * A client that reconnects should reload its view; events missed while disconnected are not replayed.
+ */
+@Service
+public class LiveUpdateBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateBroadcaster.class);
+
+    private static final long RECONNECT_MS = 5_000;
+
+    public enum Channel { LEAVE_QUEUE, HR_DASHBOARD, ADMIN_DASHBOARD }
+
+    /** The payload of a leave-request event; {@code previousStatus} is null for a new submission. */
+    public record LeaveQueueEvent(String type, Long requestId, Long employeeId, Long leaveTypeId,
+                                  LeaveStatus status, LeaveStatus previousStatus,
+                                  LocalDate startDate, LocalDate endDate) {}
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${live-updates.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${live-updates.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    // Events waiting to be written to one subscriber; when full, the subscriber is dropped.
+    @Value("${live-updates.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${live-updates.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Channel, Set<Subscriber>> subscribers = new EnumMap<>(Channel.class);
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong overflowed = new AtomicLong();
+    private ExecutorService sender;
+
+    /**
+     * One open stream and the events not yet written to it. At most one sender thread drains it
+     * at a time, so its events are written in order.
+     */
+    private final class Subscriber implements Runnable {
+        final SseEmitter emitter;
+        final Set<Subscriber> channel;
+        final Queue<SseEmitter.SseEventBuilder> pending;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Subscriber> channel) {
+            this.emitter = emitter;
+            this.channel = channel;
+            this.pending = new ArrayBlockingQueue<>(subscriberBuffer);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                overflowed.incrementAndGet();
+                logger.debug("Live update buffer full; disconnecting a slow subscriber");
+                close(this, new IOException("Subscriber too slow; " + subscriberBuffer + " events pending."));
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false); // Shutting down.
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    if (!send(this, event)) {
+                        pending.clear();
+                        return;
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared.
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        for (Channel channel : Channel.values()) {
+            subscribers.put(channel, ConcurrentHashMap.newKeySet());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        // Unbounded queue, but each subscriber is queued at most once, so it never exceeds max-subscribers.
+        sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "live-update-send-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(channel -> channel.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Opens a stream on the given channel. The optional snapshot is sent first as a
+     * "snapshot" event, so the client starts from a known state and then applies deltas.
+     * @throws IllegalStateException if the subscriber limit has been reached.
+     */
+    public SseEmitter subscribe(Channel channel, Object snapshot) {
+        return subscribe(channel, snapshot, new SseEmitter(emitterTimeoutMs));
+    }
+
+    // Package-private so tests can pass an emitter standing in for a slow client.
+    SseEmitter subscribe(Channel channel, Object snapshot, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many live update subscribers.");
+        }
+        Subscriber subscriber = new Subscriber(emitter, subscribers.get(channel));
+        subscriber.channel.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Sent right away so the response is committed (and the client sees it open)
+        // without waiting for the first change or heartbeat.
+        SseEmitter.SseEventBuilder first = SseEmitter.event().reconnectTime(RECONNECT_MS);
+        if (snapshot != null) {
+            first.name("snapshot").data(snapshot, MediaType.APPLICATION_JSON);
+        } else {
+            first.comment("connected");
+        }
+        try {
+            emitter.send(first);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /** Subscribers disconnected so far because their buffer filled up. */
+    public long overflowedCount() {
+        return overflowed.get();
+    }
+
+    // --- Write-path events (delivered after commit) ---
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        LeaveRequestChangedEvent.Snapshot current = event.current();
+        if (current != null) {
+            LeaveStatus previousStatus = (event.previous() == null) ? null : event.previous().status();
+            broadcast(Channel.LEAVE_QUEUE, "leave-request", new LeaveQueueEvent(
+                    (previousStatus == null) ? "SUBMITTED" : "DECIDED", current.id(), current.employeeId(),
+                    current.leaveTypeId(), current.status(), previousStatus, current.startDate(), current.endDate()));
+        }
+
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        if (event.previous() != null && event.previous().status() == LeaveStatus.PENDING) {
+            deltas.merge("pendingLeaveRequests", -1L, Long::sum);
+        }
+        if (current != null && current.status() == LeaveStatus.PENDING) {
+            deltas.merge("pendingLeaveRequests", 1L, Long::sum);
+        }
+        broadcastDeltas(Channel.HR_DASHBOARD, deltas);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        addEmployeeDeltas(deltas, event.previous(), -1);
+        addEmployeeDeltas(deltas, event.current(), 1);
+        broadcastDeltas(Channel.HR_DASHBOARD, deltas);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        addUserDeltas(deltas, event.previous(), -1);
+        addUserDeltas(deltas, event.current(), 1);
+        broadcastDeltas(Channel.ADMIN_DASHBOARD, deltas);
+    }
+
+    // Keys are the JSON field names of DashboardStatsDto.
+    private void addEmployeeDeltas(Map<String, Long> deltas, EmployeeChangedEvent.Snapshot employee, long delta) {
+        if (employee == null) {
+            return;
+        }
+        deltas.merge("totalEmployees", delta, Long::sum);
+        if (employee.dateJoined() != null && YearMonth.from(employee.dateJoined()).equals(YearMonth.now())) {
+            deltas.merge("newThisMonth", delta, Long::sum);
+        }
+        if (employee.status() == EmployeeStatus.ACTIVE) {
+            deltas.merge("activeEmployees", delta, Long::sum);
+        } else if (employee.status() == EmployeeStatus.ON_PROBATION) {
+            deltas.merge("onProbationEmployees1", delta, Long::sum);
+        }
+    }
+
+    // Keys are the JSON field names of AdminDashboardStatsDto.
+    private void addUserDeltas(Map<String, Long> deltas, UserChangedEvent.Snapshot user, long delta) {
+        if (user == null || user.role() == null) {
+            return;
+        }
+        String suffix = switch (user.role()) {
+            case ROLE_HR -> "Hr";
+            case ROLE_MANAGER -> "Managers";
+            case ROLE_EMPLOYEE -> "Employees";
+            default -> null;
+        };
+        if (suffix == null) {
+            return;
+        }
+        deltas.merge("total" + suffix, delta, Long::sum);
+        if (user.enabled()) {
+            deltas.merge("active" + suffix, delta, Long::sum);
+        }
+        if (user.role() == Role.ROLE_EMPLOYEE && user.firstTimeLogin()) {
+            deltas.merge("pendingOnboardings", delta, Long::sum);
+        }
+    }
+
+    private void broadcastDeltas(Channel channel, Map<String, Long> deltas) {
+        deltas.values().removeIf(value -> value == 0);
+        if (!deltas.isEmpty()) {
+            broadcast(channel, "delta", deltas);
+        }
+    }
+
+    // --- Fan-out ---
+
+    private void broadcast(Channel channel, String name, Object payload) {
+        Set<Subscriber> channelSubscribers = subscribers.get(channel);
+        if (channelSubscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload); // Serialized once for every subscriber.
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize live update {}: {}", name, e.getMessage());
+            return;
+        }
+        // Only queues the event; an event builder is single-use, so each subscriber gets its own.
+        for (Subscriber subscriber : channelSubscribers) {
+            subscriber.offer(SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${live-updates.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        for (Set<Subscriber> channelSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : channelSubscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    /** @return false if the subscriber is gone and was removed. */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            close(subscriber, e);
+            return false;
+        }
+    }
+
+    private void close(Subscriber subscriber, Exception cause) {
+        remove(subscriber);
+        try {
+            subscriber.emitter.completeWithError(cause);
+        } catch (RuntimeException ignored) {
+            // Already completed.
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.channel.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.event.EmployeeChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveRequestChangedEvent;
+import com.example.user_employee_management_backend.event.LeaveTypeChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the strong ETags of the conditional GET endpoints, so an unchanged
+ * resource is answered with 304 before any data is loaded.
+ *
+ * An employee's leave lists (my-balances, my-requests) carry the counter of that employee, bumped
+ * after commit when one of their requests is submitted or decided (approval also changes the
+ * balance) or their record changes. Counters are striped over a fixed array, so memory does not
+ * grow with the number of employees; employees sharing a stripe only cause each other an extra
+ * 200. A leave type change bumps the shared generation, since type names and balances appear in
+ * every list.
+ *
+ * Counters are held in memory only: every tag carries a per-process epoch, so clients re-fetch
+ * once after a restart. Employee tags also roll over every {@code etag.window-ms}, which bounds
+ * how long a change written outside this service (e.g. direct SQL) can stay hidden.
+ */
+@Component
+public class ResourceVersions {
+
+    private static final int STRIPES = 1 << 16;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray employeeStripes = new AtomicLongArray(STRIPES);
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${etag.window-ms:300000}")
+    private long windowMs;
+
+    /** ETag of an employee's balances and requests. */
+    public String employeeLeaveTag(Long employeeId) {
+        return "\"emp" + employeeId + "-" + epoch + "-" + generation.get() + "-"
+                + employeeStripes.get(stripe(employeeId)) + "-" + System.currentTimeMillis() / windowMs + "\"";
+    }
+
+    /** ETag of the leave type list, from the version of the catalog snapshot being served. */
+    public String leaveTypesTag(long catalogVersion) {
+        return "\"types-" + epoch + "-" + catalogVersion + "\"";
+    }
+
+    /**
+     * ETag of a dashboard built from the in-memory counters. The date is included because the
+     * figures for "this month" change at midnight on the first without any write.
+     */
+    public String dashboardTag(String dashboard, long countersVersion) {
+        return "\"" + dashboard + "-" + epoch + "-" + countersVersion + "-" + LocalDate.now() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        employeeStripes.incrementAndGet(stripe(event.current().employeeId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeChangedEvent.Snapshot employee = event.current() != null ? event.current() : event.previous();
+        if (employee != null) {
+            employeeStripes.incrementAndGet(stripe(employee.id()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaveTypeChanged(LeaveTypeChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private static int stripe(Long employeeId) {
+        return (int) (employeeId ^ (employeeId >>> 32)) & (STRIPES - 1);
+    }
+}
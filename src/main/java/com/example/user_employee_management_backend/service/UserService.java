@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 public interface UserService {
     UserDto createUser(UserCreateRequest userCreateRequest);
     Page<UserDto> getManageableUsers(Pageable pageable);
+    CursorPageDto<UserDto> scrollManageableUsers(String cursor, int size, String sortKey, boolean includeTotal);
     AdminDashboardStatsDto getAdminDashboardStats();
     void setUserStatus(Long id, Boolean isEnabled);
 }
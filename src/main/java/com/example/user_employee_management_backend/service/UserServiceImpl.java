@@ -1,20 +1,34 @@
 package com.example.user_employee_management_backend.service;
 
 import com.example.user_employee_management_backend.dto.AdminDashboardStatsDto;
+import com.example.user_employee_management_backend.dto.CursorPageDto;
 import com.example.user_employee_management_backend.dto.UserCreateRequest;
 import com.example.user_employee_management_backend.dto.UserDto;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
 import com.example.user_employee_management_backend.model.Role;
 import com.example.user_employee_management_backend.model.User;
 import com.example.user_employee_management_backend.repository.UserRepository;
+import com.example.user_employee_management_backend.security.UserPrincipalCache;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+@Timed(value = "app.service", description = "Service method latency")
 @Service
 public class UserServiceImpl implements UserService {
 
@@ -24,6 +38,18 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${dashboard.counters.enabled:true}")
+    private boolean countersEnabled;
+
     /**
      * Create a new user (HR or Manager only)
      */
@@ -51,6 +77,7 @@ public class UserServiceImpl implements UserService {
         user.setEnabled(true);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
 
         return new UserDto(
                 savedUser.getId(),
@@ -77,29 +104,89 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Admin dashboard stats
+     * Return non-admin users with keyset pagination, sorted by "username" (default) or "id".
+     */
+    @Override
+    public CursorPageDto<UserDto> scrollManageableUsers(String cursor, int size, String sortKey, boolean includeTotal) {
+        List<String> sortKeys = switch (sortKey == null ? "username" : sortKey) {
+            case "username" -> List.of("username", "id");
+            case "id" -> List.of("id");
+            default -> throw new IllegalArgumentException("Unsupported sort key: " + sortKey);
+        };
+        ScrollPosition position = KeysetCursor.position(cursor, sortKeys);
+
+        Window<User> window = userRepository.findByRoleNot(Role.ROLE_ADMIN, position, Limit.of(size),
+                Sort.by(sortKeys.toArray(String[]::new)));
+
+        Long total = includeTotal ? userRepository.countByRoleNot(Role.ROLE_ADMIN) : null;
+        return new CursorPageDto<>(window.getContent(), KeysetCursor.next(window), window.hasNext(), total)
+                .map(this::toDto);
+    }
+
+    private UserDto toDto(User user) {
+        return new UserDto(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole(),
+                user.isEnabled()
+        );
+    }
+
+    /**
+     * Admin dashboard stats, served from the in-memory DashboardCounters, or from one
+     * grouped query when the counters are disabled.
+     * Pending onboardings are employee accounts that have not completed their first login.
      */
     @Override
     public AdminDashboardStatsDto getAdminDashboardStats() {
-        long totalHr = userRepository.countByRole(Role.ROLE_HR);
-        long activeHr = userRepository.countByRoleAndEnabled(Role.ROLE_HR, true);
+        if (!countersEnabled) {
+            return adminStatsFromDatabase();
+        }
+        long totalHr = dashboardCounters.usersWithRole(Role.ROLE_HR);
+        long activeHr = dashboardCounters.enabledUsersWithRole(Role.ROLE_HR);
 
-        long totalManagers = userRepository.countByRole(Role.ROLE_MANAGER);
-        long activeManagers = userRepository.countByRoleAndEnabled(Role.ROLE_MANAGER, true);
+        long totalManagers = dashboardCounters.usersWithRole(Role.ROLE_MANAGER);
+        long activeManagers = dashboardCounters.enabledUsersWithRole(Role.ROLE_MANAGER);
 
-        long totalEmployees = userRepository.countByRole(Role.ROLE_EMPLOYEE);
-        long activeEmployees = userRepository.countByRoleAndEnabled(Role.ROLE_EMPLOYEE, true);
+        long totalEmployees = dashboardCounters.usersWithRole(Role.ROLE_EMPLOYEE);
+        long activeEmployees = dashboardCounters.enabledUsersWithRole(Role.ROLE_EMPLOYEE);
 
-        long pendingOnboardings = 5; // Replace with actual logic if needed
+        long pendingOnboardings = dashboardCounters.pendingOnboardings();
 
         return new AdminDashboardStatsDto(
                 totalHr,
-                activeHr,
                 totalManagers,
-                activeManagers,
                 totalEmployees,
-                activeEmployees,
-                pendingOnboardings
+                pendingOnboardings,
+                activeHr,
+                activeManagers,
+                activeEmployees
+        );
+    }
+
+    private AdminDashboardStatsDto adminStatsFromDatabase() {
+        Map<Role, Long> totals = new EnumMap<>(Role.class);
+        Map<Role, Long> active = new EnumMap<>(Role.class);
+        long pendingOnboardings = 0;
+        for (UserRepository.RoleStatusCount row : userRepository.countGroupedByRoleAndStatus()) {
+            totals.merge(row.getRole(), row.getTotal(), Long::sum);
+            if (Boolean.TRUE.equals(row.getEnabled())) {
+                active.merge(row.getRole(), row.getTotal(), Long::sum);
+            }
+            if (row.getRole() == Role.ROLE_EMPLOYEE && Boolean.TRUE.equals(row.getFirstTimeLogin())) {
+                pendingOnboardings += row.getTotal();
+            }
+        }
+
+        return new AdminDashboardStatsDto(
+                totals.getOrDefault(Role.ROLE_HR, 0L),
+                totals.getOrDefault(Role.ROLE_MANAGER, 0L),
+                totals.getOrDefault(Role.ROLE_EMPLOYEE, 0L),
+                pendingOnboardings,
+                active.getOrDefault(Role.ROLE_HR, 0L),
+                active.getOrDefault(Role.ROLE_MANAGER, 0L),
+                active.getOrDefault(Role.ROLE_EMPLOYEE, 0L)
         );
     }
 
@@ -114,7 +201,12 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = optionalUser.get();
+        UserChangedEvent.Snapshot previous = UserChangedEvent.Snapshot.of(user);
         user.setEnabled(isEnabled);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(previous, UserChangedEvent.Snapshot.of(user)));
+
+        // Drop the cached principal so a disabled user is locked out on the next request.
+        principalCache.invalidate(user.getUsername());
     }
 }
@@ -0,0 +1,124 @@
+package com.example.user_employee_management_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Weekend and public holiday calendar used to charge leave in working days.
+ * Each year is computed once into a bitset of working days plus a prefix sum over it, so
+ * counting the working days of a range costs two array lookups per year it spans instead
+ * of a walk over every day.
+ * Holidays are configured as fixed dates ({@code leave.calendar.holidays}, yyyy-MM-dd) and
+ * as dates recurring every year ({@code leave.calendar.recurring-holidays}, MM-dd).
+ * Only years within {@code leave.calendar.cached-years} of the current year are kept; others
+ * are computed on each use, so arbitrary dates cannot grow the cache.
+ */
+@Component
+public class WorkingDayCalendar {
+
+    @Value("${leave.calendar.weekend-days:SATURDAY,SUNDAY}")
+    private List<String> weekendDays;
+
+    @Value("${leave.calendar.holidays:}")
+    private List<String> holidays;
+
+    @Value("${leave.calendar.recurring-holidays:}")
+    private List<String> recurringHolidays;
+
+    @Value("${leave.calendar.cached-years:50}")
+    private int cachedYears;
+
+    private final Set<DayOfWeek> weekend = EnumSet.noneOf(DayOfWeek.class);
+    private final Map<Integer, Set<Integer>> fixedHolidaysByYear = new HashMap<>();
+    private final Set<MonthDay> recurring = new HashSet<>();
+
+    /** One year: bit (dayOfYear - 1) is set for a working day; prefix[d] = working days in days 1..d. */
+    private record Year(BitSet workingDays, int[] prefix) {
+        int total() {
+            return prefix[prefix.length - 1];
+        }
+    }
+
+    private final Map<Integer, Year> years = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (String day : weekendDays) {
+            if (!day.isBlank()) {
+                weekend.add(DayOfWeek.valueOf(day.trim().toUpperCase()));
+            }
+        }
+        for (String date : holidays) {
+            if (!date.isBlank()) {
+                LocalDate holiday = LocalDate.parse(date.trim());
+                fixedHolidaysByYear.computeIfAbsent(holiday.getYear(), y -> new HashSet<>()).add(holiday.getDayOfYear());
+            }
+        }
+        for (String date : recurringHolidays) {
+            if (!date.isBlank()) {
+                recurring.add(MonthDay.parse("--" + date.trim()));
+            }
+        }
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).workingDays().get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Working days in [from, to], both inclusive; 0 if {@code to} is before {@code from}.
+     */
+    public long workingDaysBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        if (from.getYear() == to.getYear()) {
+            int[] prefix = year(from.getYear()).prefix();
+            return prefix[to.getDayOfYear()] - prefix[from.getDayOfYear() - 1];
+        }
+        Year first = year(from.getYear());
+        long days = first.total() - first.prefix()[from.getDayOfYear() - 1];
+        for (int y = from.getYear() + 1; y < to.getYear(); y++) {
+            days += year(y).total();
+        }
+        return days + year(to.getYear()).prefix()[to.getDayOfYear()];
+    }
+
+    private Year year(int year) {
+        if (Math.abs((long) year - LocalDate.now().getYear()) > cachedYears) {
+            return computeYear(year);
+        }
+        return years.computeIfAbsent(year, this::computeYear);
+    }
+
+    int cachedYearCount() {
+        return years.size();
+    }
+
+    private Year computeYear(int year) {
+        LocalDate day = LocalDate.ofYearDay(year, 1);
+        int length = day.lengthOfYear();
+        Set<Integer> fixed = fixedHolidaysByYear.getOrDefault(year, Set.of());
+        BitSet workingDays = new BitSet(length);
+        int[] prefix = new int[length + 1];
+        for (int d = 1; d <= length; d++) {
+            if (d > 1) {
+                day = day.plusDays(1); // Not past the last day: the last year ends at LocalDate.MAX.
+            }
+            boolean working = !weekend.contains(day.getDayOfWeek())
+                    && !fixed.contains(d) && !recurring.contains(MonthDay.from(day));
+            if (working) {
+                workingDays.set(d - 1);
+            }
+            prefix[d] = prefix[d - 1] + (working ? 1 : 0);
+        }
+        return new Year(workingDays, prefix);
+    }
+}
@@ -0,0 +1,76 @@
+-- Baseline: the schema as Hibernate's ddl-auto=update created it (MySQL), constraint names included,
+-- from the entities as they were before the schema moved to Flyway. Later entity changes are
+-- later migrations, so a baselined database receives them too.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only receive the later migrations; empty databases run this script.
+-- Kept to syntax that H2 in MySQL mode also accepts, so tests and the perf profile run the same scripts.
+
+create table employees (
+    age integer not null,
+    date_joined date,
+    date_of_birth date,
+    profile_complete boolean default false,
+    total_experience integer not null,
+    id bigint not null auto_increment,
+    department varchar(255),
+    email varchar(255) not null,
+    name varchar(255) not null,
+    past_experience tinytext,
+    status enum ('ACTIVE','INACTIVE','ON_PROBATION'),
+    primary key (id)
+) engine=InnoDB;
+
+create table leave_balances (
+    remaining_days integer not null,
+    employee_id bigint not null,
+    id bigint not null auto_increment,
+    leave_type_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table leave_requests (
+    end_date date not null,
+    start_date date not null,
+    employee_id bigint not null,
+    id bigint not null auto_increment,
+    leave_type_id bigint not null,
+    num_days bigint not null,
+    reason varchar(255),
+    status enum ('APPROVED','DENIED','PENDING'),
+    primary key (id)
+) engine=InnoDB;
+
+create table leave_types (
+    default_days integer not null,
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    enabled boolean default true,
+    first_time_login boolean default true,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    email varchar(255),
+    password varchar(255) not null,
+    username varchar(255) not null,
+    role enum ('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_HR','ROLE_MANAGER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table employees add constraint UKj9xgmd0ya5jmus09o0b8pqrpb unique (email);
+
+alter table leave_types add constraint UKjk0ragqnw78kwwdopm49iea60 unique (name);
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table leave_balances add constraint FKmvepkwsegu6bt3ps5rfh1dx92 foreign key (employee_id) references employees (id);
+
+alter table leave_balances add constraint FK86791wotycqa54js45s9396wy foreign key (leave_type_id) references leave_types (id);
+
+alter table leave_requests add constraint FKrxff2xg1kffbjfh5maxwoqyhw foreign key (employee_id) references employees (id);
+
+alter table leave_requests add constraint FK26il0qrl79p6etqwn0ae6l43b foreign key (leave_type_id) references leave_types (id);
@@ -0,0 +1,36 @@
+-- Indexes for the filters the read paths use, and one balance per (employee, leave type).
+
+-- Duplicate balances (from concurrent provisioning under ddl-auto=update) break the single-row
+-- lookups. Keep the most-charged row of each pair, the lowest id on a tie. The DISTINCT derived
+-- table is materialized first, which lets MySQL delete from the table the subquery reads.
+delete from leave_balances
+where id in (
+    select id from (
+        select distinct duplicate.id
+        from leave_balances duplicate
+        join leave_balances kept
+          on kept.employee_id = duplicate.employee_id
+         and kept.leave_type_id = duplicate.leave_type_id
+         and (kept.remaining_days < duplicate.remaining_days
+              or (kept.remaining_days = duplicate.remaining_days and kept.id < duplicate.id))
+    ) as duplicates
+);
+
+-- Balance lookup and deduction by (employee, leave type); also serves "balances of an employee".
+alter table leave_balances add constraint uk_leave_balances_employee_leave_type unique (employee_id, leave_type_id);
+
+-- An employee's own requests, and the overlap check on their pending and approved leave.
+create index idx_leave_requests_employee_status_start_date on leave_requests (employee_id, status, start_date);
+
+-- Absence index load and who-is-out: requests of a status ending on or after a date.
+create index idx_leave_requests_status_end_date on leave_requests (status, end_date);
+
+-- Department filter of the pending queue and who-is-out; rows then join leave_requests by employee_id.
+create index idx_employees_department on employees (department);
+
+-- Dashboard counts per status and join month (covering), and joins within a date range.
+create index idx_employees_status_date_joined on employees (status, date_joined);
+create index idx_employees_date_joined on employees (date_joined);
+
+-- Admin dashboard counts per role, enabled and first-login flag (covering).
+create index idx_users_role_enabled_first_time_login on users (role, enabled, first_time_login);
@@ -0,0 +1,9 @@
+-- Leave request changes made while the schema was still created by ddl-auto=update; databases
+-- baselined at V1 do not have them yet.
+
+-- Optimistic lock on leave requests: a request decided concurrently by two managers is only
+-- processed once. Existing rows start at version 0.
+alter table leave_requests add column version bigint default 0;
+
+-- The manager queue filters on status and orders by start date; InnoDB appends the id to the index.
+create index idx_leave_requests_status_start_date on leave_requests (status, start_date);
@@ -0,0 +1,225 @@
+package com.example.user_employee_management_backend.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver for a service started with the "perf" profile.
+ * Each worker thread repeatedly picks a call from the configured mix and waits for the response;
+ * after the warm-up, latencies are recorded per endpoint. At the end it prints throughput and
+ * p50/p99/p99.9 latency per endpoint and writes the same figures as JSON for comparison between runs.
+ *
+ * Options (system properties, with defaults):
+ *   perf.base-url=http://localhost:8080   perf.threads=16   perf.duration-seconds=60   perf.warmup-seconds=10
+ *   perf.mix=login:5,my-balances:40,pending-queue:20,approval:10,directory:25
+ *   perf.employees=100000  perf.managers=50  perf.hr-users=10  perf.password=perf-password
+ *   perf.sessions=200 (employees logged in up front for the my-balances calls)
+ *   perf.result=target/perf-result.json
+ * The account settings must match the perf.seed.* values the service was seeded with.
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("perf.base-url", "http://localhost:8080");
+    private final int threads = Integer.getInteger("perf.threads", 16);
+    private final int durationSeconds = Integer.getInteger("perf.duration-seconds", 60);
+    private final int warmupSeconds = Integer.getInteger("perf.warmup-seconds", 10);
+    private final int employees = Integer.getInteger("perf.employees", 100_000);
+    private final int managers = Integer.getInteger("perf.managers", 50);
+    private final int hrUsers = Integer.getInteger("perf.hr-users", 10);
+    private final int sessions = Integer.getInteger("perf.sessions", 200);
+    private final String password = System.getProperty("perf.password", "perf-password");
+    private final String resultFile = System.getProperty("perf.result", "target/perf-result.json");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final Map<String, Integer> mix = new LinkedHashMap<>();
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final List<String> employeeTokens = new ArrayList<>();
+    private final List<String> managerTokens = new ArrayList<>();
+    private final List<String> hrTokens = new ArrayList<>();
+    // Pending request ids seen on the queue pages, each approved at most once.
+    private final Queue<Long> pendingIds = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean recording;
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver().run();
+    }
+
+    private void run() throws Exception {
+        for (String entry : System.getProperty("perf.mix",
+                "login:5,my-balances:40,pending-queue:20,approval:10,directory:25").split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        for (String endpoint : mix.keySet()) {
+            latencies.put(endpoint, new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3));
+            errors.put(endpoint, new LongAdder());
+        }
+
+        System.out.printf("Logging in %d employees, %d managers and %d HR users against %s%n",
+                sessions, managers, hrUsers, baseUrl);
+        Random random = new Random(1);
+        for (int i = 0; i < sessions; i++) {
+            employeeTokens.add(login("perf.employee" + (1 + random.nextInt(employees)) + "@example.com", "EMPLOYEE"));
+        }
+        for (int i = 1; i <= managers; i++) {
+            managerTokens.add(login("perf.manager" + i + "@example.com", "MANAGER"));
+        }
+        for (int i = 1; i <= hrUsers; i++) {
+            hrTokens.add(login("perf.hr" + i + "@example.com", "HR"));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            pool.submit(() -> worker(new Random(seed), end));
+        }
+        System.out.printf("Warming up for %d s, then measuring for %d s with %d threads%n", warmupSeconds, durationSeconds, threads);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        latencies.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        recording = true;
+        pool.shutdown();
+        pool.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+
+        report();
+    }
+
+    private void worker(Random random, long end) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            int pick = random.nextInt(totalWeight);
+            String endpoint = null;
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    endpoint = entry.getKey();
+                    break;
+                }
+            }
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = call(endpoint, random);
+            } catch (Exception e) {
+                ok = false;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (recording) {
+                latencies.get(endpoint).recordValue(Math.min(micros, latencies.get(endpoint).getHighestTrackableValue()));
+                if (!ok) {
+                    errors.get(endpoint).increment();
+                }
+            }
+        }
+    }
+
+    private boolean call(String endpoint, Random random) throws Exception {
+        return switch (endpoint) {
+            case "login" -> {
+                String body = JSON.writeValueAsString(Map.of("username",
+                        "perf.employee" + (1 + random.nextInt(employees)) + "@example.com", "password", password, "role", "EMPLOYEE"));
+                yield send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build()).statusCode() == 200;
+            }
+            case "my-balances" -> send(get("/api/leave/my-balances", pick(employeeTokens, random))).statusCode() == 200;
+            case "pending-queue" -> {
+                HttpResponse<String> response = send(get("/api/leave/requests/pending?cursor=&size=50&department=Dept%20"
+                        + random.nextInt(40), pick(managerTokens, random)));
+                if (response.statusCode() == 200 && pendingIds.size() < 10_000) {
+                    for (JsonNode request : JSON.readTree(response.body()).path("content")) {
+                        pendingIds.add(request.get("id").asLong());
+                    }
+                }
+                yield response.statusCode() == 200;
+            }
+            case "approval" -> {
+                Long id = pendingIds.poll();
+                if (id == null) {
+                    yield true; // Nothing harvested yet; the queue calls refill it.
+                }
+                yield send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/leave/requests/" + id + "/status"))
+                        .header("Authorization", "Bearer " + pick(managerTokens, random))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"APPROVED\"}")).build()).statusCode() == 200;
+            }
+            case "directory" -> send(get("/api/dashboard/employees?size=20&page=" + random.nextInt(500),
+                    pick(hrTokens, random))).statusCode() == 200;
+            default -> throw new IllegalArgumentException("Unknown endpoint in perf.mix: " + endpoint);
+        };
+    }
+
+    private String login(String username, String role) throws Exception {
+        String body = JSON.writeValueAsString(Map.of("username", username, "password", password, "role", role));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode() + " " + response.body());
+        }
+        return JSON.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String pick(List<String> tokens, Random random) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+
+    private void report() throws Exception {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        System.out.printf("%n%-15s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String endpoint : mix.keySet()) {
+            Histogram histogram = latencies.get(endpoint);
+            long count = histogram.getTotalCount();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", count);
+            row.put("errors", errors.get(endpoint).sum());
+            row.put("throughput", (double) count / durationSeconds);
+            row.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            row.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            row.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+            row.put("maxMs", histogram.getMaxValue() / 1000.0);
+            results.put(endpoint, row);
+            System.out.printf("%-15s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint, count, row.get("errors"),
+                    row.get("throughput"), row.get("p50Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("threads", threads);
+        document.put("durationSeconds", durationSeconds);
+        document.put("endpoints", results);
+        File file = new File(resultFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        JSON.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, document);
+        System.out.println("Results written to " + file.getPath());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.user_employee_management_backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations on an empty H2 database (MySQL mode) and checks that:
+ * - the entities validate against the migrated schema (ddl-auto=validate at startup);
+ * - V2 removes duplicate balances and enforces one balance per (employee, leave type);
+ * - V3 adds the optimistic lock version, starting existing requests at 0, and the pending queue index;
+ * - the hot filters use the V2 indexes. The EXPLAIN plans before (V1 only) and after are logged at
+ *   debug level, as are the startup times with ddl-auto=update and with Flyway plus validate.
+ */
+class SchemaMigrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationTest.class);
+
+    private static final String URL = "jdbc:h2:mem:schema_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Native equivalents of the repository queries, each with the index V2 adds for it (null: plan printed only).
+    private static final Map<String, String[]> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("balance of an employee and leave type", new String[]{
+                "SELECT remaining_days FROM leave_balances WHERE employee_id = 42 AND leave_type_id = 2",
+                "uk_leave_balances_employee_leave_type"});
+        HOT_QUERIES.put("own requests / overlap check", new String[]{
+                "SELECT id FROM leave_requests WHERE employee_id = 42 AND status IN ('PENDING', 'APPROVED') "
+                        + "AND start_date <= DATE '2031-06-30' AND end_date >= DATE '2031-06-01'",
+                "idx_leave_requests_employee_status_start_date"});
+        HOT_QUERIES.put("absence index load", new String[]{
+                "SELECT id, employee_id, start_date, end_date FROM leave_requests "
+                        + "WHERE status IN ('PENDING', 'APPROVED') AND end_date >= DATE '2031-12-01'",
+                "idx_leave_requests_status_end_date"});
+        // H2 reads the page in (status, start_date) order and stops after 50 rows; only printed.
+        HOT_QUERIES.put("pending queue page of a department", new String[]{
+                "SELECT lr.id, e.name FROM leave_requests lr JOIN employees e ON e.id = lr.employee_id "
+                        + "WHERE lr.status = 'PENDING' AND e.department = 'Dept 7' ORDER BY lr.start_date, lr.id LIMIT 50",
+                null});
+        HOT_QUERIES.put("pending queue total of a department", new String[]{
+                "SELECT COUNT(*) FROM leave_requests lr JOIN employees e ON e.id = lr.employee_id "
+                        + "WHERE lr.status = 'PENDING' AND e.department = 'Dept 7'",
+                "idx_employees_department"});
+        HOT_QUERIES.put("employees joined in a range", new String[]{
+                "SELECT COUNT(*) FROM employees WHERE date_joined BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'",
+                "idx_employees_date_joined"});
+        HOT_QUERIES.put("employees per status and join month", new String[]{
+                "SELECT status, YEAR(date_joined), MONTH(date_joined), COUNT(*) FROM employees "
+                        + "GROUP BY status, YEAR(date_joined), MONTH(date_joined)",
+                "idx_employees_status_date_joined"});
+        HOT_QUERIES.put("users of a role", new String[]{
+                "SELECT COUNT(*) FROM users WHERE role = 'ROLE_MANAGER' AND enabled = TRUE",
+                "idx_users_role_enabled_first_time_login"});
+    }
+
+    @Test
+    void migrationsCreateIndexedSchemaThatEntitiesValidate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        seed(jdbc);
+        Map<String, String> before = explainAll(jdbc);
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc.execute("ANALYZE");
+        Map<String, String> after = explainAll(jdbc);
+
+        HOT_QUERIES.forEach((name, query) -> {
+            logger.debug("{}\n  before: {}\n  after:  {}", name, before.get(name), after.get(name));
+            if (query[1] != null) {
+                assertTrue(after.get(name).contains(query[1]), name + " does not use " + query[1] + ": " + after.get(name));
+            }
+        });
+
+        // The duplicate pair kept its most-charged row; a new duplicate is rejected.
+        assertEquals(List.of(3), jdbc.queryForList(
+                "SELECT remaining_days FROM leave_balances WHERE employee_id = 1 AND leave_type_id = 1", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT employee_id, leave_type_id FROM leave_balances "
+                + "GROUP BY employee_id, leave_type_id HAVING COUNT(*) > 1) AS d", Integer.class));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbc.update(
+                "INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) VALUES (1, 1, 10)"));
+
+        // Requests created before V3 start at version 0; the queue index exists.
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM leave_requests WHERE version IS NULL OR version <> 0", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.indexes "
+                + "WHERE index_name = 'idx_leave_requests_status_start_date'", Integer.class));
+
+        // Startup against the migrated schema with Flyway plus validate, which fails the startup if an
+        // entity no longer matches the migrations.
+        long validate = startupMillis("spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate");
+        if (logger.isDebugEnabled()) {
+            // For comparison, the old ddl-auto=update startup.
+            long update = startupMillis("spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=update");
+            logger.debug("startup with ddl-auto=update: {} ms, with Flyway + validate: {} ms", update, validate);
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO employees (name, email, department, status, date_joined, age, total_experience) "
+                + "SELECT CONCAT('Employee ', x), CONCAT('employee', x, '@example.com'), CONCAT('Dept ', MOD(x, 40)), "
+                + "CASE MOD(x, 10) WHEN 0 THEN 'INACTIVE' WHEN 1 THEN 'ON_PROBATION' ELSE 'ACTIVE' END, "
+                + "DATEADD('DAY', -MOD(x * 37, 3650), DATE '2030-01-01'), 30, 5 FROM SYSTEM_RANGE(1, 5000) AS r(x)");
+        jdbc.update("INSERT INTO users (username, email, password, role, first_time_login, enabled) "
+                + "SELECT CONCAT('user', x), CONCAT('user', x, '@example.com'), 'x', "
+                + "CASE MOD(x, 50) WHEN 0 THEN 'ROLE_MANAGER' WHEN 1 THEN 'ROLE_HR' ELSE 'ROLE_EMPLOYEE' END, FALSE, TRUE "
+                + "FROM SYSTEM_RANGE(1, 5000) AS r(x)");
+        for (int t = 1; t <= 3; t++) {
+            jdbc.update("INSERT INTO leave_types (name, default_days) VALUES (?, 20)", "Type " + t);
+        }
+        jdbc.update("INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) "
+                + "SELECT e.id, lt.id, 20 FROM employees e CROSS JOIN leave_types lt");
+        // Duplicates as concurrent provisioning left them: the charged row must survive V2.
+        jdbc.update("INSERT INTO leave_balances (employee_id, leave_type_id, remaining_days) VALUES (1, 1, 3), (1, 1, 20)");
+        jdbc.update("INSERT INTO leave_requests (employee_id, leave_type_id, start_date, end_date, num_days, status) "
+                + "SELECT MOD(x, 5000) + 1, MOD(x, 3) + 1, DATEADD('DAY', MOD(x * 7919, 1826), DATE '2028-01-01'), "
+                + "DATEADD('DAY', MOD(x * 7919, 1826) + 2, DATE '2028-01-01'), 3, "
+                + "CASE MOD(x, 20) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'DENIED' ELSE 'APPROVED' END "
+                + "FROM SYSTEM_RANGE(1, 50000) AS r(x)");
+        jdbc.execute("ANALYZE");
+    }
+
+    private static Map<String, String> explainAll(JdbcTemplate jdbc) {
+        Map<String, String> plans = new LinkedHashMap<>();
+        HOT_QUERIES.forEach((name, query) -> plans.put(name,
+                jdbc.queryForObject("EXPLAIN " + query[0], String.class).replaceAll("\\s+", " ")));
+        return plans;
+    }
+
+    private static long startupMillis(String... properties) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(UserEmployeeManagementBackendApplication.class)
+                .profiles("test")
+                .properties("spring.datasource.url=" + URL, "server.port=0")
+                .properties(properties)
+                .run()) {
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+}
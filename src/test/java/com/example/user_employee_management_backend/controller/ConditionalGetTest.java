@@ -0,0 +1,166 @@
+package com.example.user_employee_management_backend.controller;
+
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeRequest;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import com.example.user_employee_management_backend.security.JwtUtils;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import com.example.user_employee_management_backend.service.LeaveService;
+import com.example.user_employee_management_backend.service.LeaveTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The ETag endpoints answer a matching If-None-Match with 304 without any SQL, and change
+ * their ETag once a write affects what they return.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2037, 3, 2);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeService leaveTypeService;
+    @Autowired private LeaveService leaveService;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void employeeLeaveListsAreRevalidatedUntilTheirRequestsChange() throws Exception {
+        String token = token(saveEmployeeUser("etag.employee@example.com"));
+        LeaveTypeDto type = leaveTypeService.createLeaveType(new LeaveTypeRequest("ETag Leave", 10));
+
+        MvcResult balances = fetch(token, "/api/leave/my-balances", null, 200);
+        String tag = balances.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        assertEquals("no-cache, private", balances.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotModifiedWithoutSql(token, "/api/leave/my-balances", tag);
+        assertNotModifiedWithoutSql(token, "/api/leave/my-requests", tag);
+
+        mockMvc.perform(post("/api/leave/requests").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"leaveTypeId\":" + type.id() + ",\"startDate\":\"" + MONDAY
+                                + "\",\"endDate\":\"" + MONDAY.plusDays(1) + "\",\"reason\":\"etag\"}"))
+                .andExpect(status().isOk());
+        MvcResult requests = fetch(token, "/api/leave/my-requests", tag, 200);
+        assertTrue(requests.getResponse().getContentAsString().contains("etag"));
+        String submitted = requests.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(tag, submitted);
+        assertNotModifiedWithoutSql(token, "/api/leave/my-balances", submitted);
+
+        // Approval deducts from the balance.
+        Long requestId = leaveRequestRepository.findAll().stream()
+                .filter(r -> "etag".equals(r.getReason())).findFirst().orElseThrow().getId();
+        leaveService.updateRequestStatus(requestId, LeaveStatus.APPROVED);
+        MvcResult approved = fetch(token, "/api/leave/my-balances", submitted, 200);
+        assertTrue(approved.getResponse().getContentAsString().contains("\"remainingDays\":8"),
+                approved.getResponse().getContentAsString());
+    }
+
+    @Test
+    void leaveTypeListChangesItsTagWhenAnAdminAddsAType() throws Exception {
+        String employee = token(saveEmployeeUser("etag.types@example.com"));
+        String admin = token(saveUser("etag.admin@example.com", Role.ROLE_ADMIN));
+
+        String tag = fetch(employee, "/api/leave/types", null, 200).getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotModifiedWithoutSql(employee, "/api/leave/types", tag);
+        assertNotModifiedWithoutSql(admin, "/api/admin/leave-types", tag);
+
+        mockMvc.perform(post("/api/admin/leave-types").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"ETag Added Leave\",\"defaultDays\":4}"))
+                .andExpect(status().isOk());
+        MvcResult types = fetch(employee, "/api/leave/types", tag, 200);
+        assertTrue(types.getResponse().getContentAsString().contains("ETag Added Leave"));
+        assertNotEquals(tag, types.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void dashboardsChangeTheirTagWhenAnEmployeeIsOnboarded() throws Exception {
+        String hr = token(saveUser("etag.hr@example.com", Role.ROLE_HR));
+        String admin = token(saveUser("etag.admin2@example.com", Role.ROLE_ADMIN));
+
+        String hrTag = fetch(hr, "/api/dashboard/stats", null, 200).getResponse().getHeader(HttpHeaders.ETAG);
+        String adminTag = fetch(admin, "/api/admin/dashboard/stats", null, 200).getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotModifiedWithoutSql(hr, "/api/dashboard/stats", hrTag);
+        assertNotModifiedWithoutSql(admin, "/api/admin/dashboard/stats", adminTag);
+
+        mockMvc.perform(post("/api/dashboard/employees").header(HttpHeaders.AUTHORIZATION, "Bearer " + hr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"ETag Hire\",\"email\":\"etag.hire@example.com\",\"department\":\"ETag\","
+                                + "\"dateJoined\":\"" + LocalDate.now() + "\",\"status\":\"ACTIVE\",\"temporaryPassword\":\"etag-hire-password\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(hrTag, fetch(hr, "/api/dashboard/stats", hrTag, 200).getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotEquals(adminTag, fetch(admin, "/api/admin/dashboard/stats", adminTag, 200).getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    private void assertNotModifiedWithoutSql(String token, String path, String tag) throws Exception {
+        fetch(token, path, tag, 304); // warms the principal cache
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MvcResult result = fetch(token, path, tag, 304);
+        assertEquals(0, statistics.getPrepareStatementCount(), path);
+        assertEquals(tag, result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals("", result.getResponse().getContentAsString());
+    }
+
+    private MvcResult fetch(String token, String path, String ifNoneMatch, int expectedStatus) throws Exception {
+        var request = get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), path);
+        return result;
+    }
+
+    private User saveEmployeeUser(String email) {
+        Employee employee = new Employee();
+        employee.setName(email);
+        employee.setEmail(email);
+        employee.setDepartment("ETag Dept");
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employeeRepository.save(employee);
+        return saveUser(email, Role.ROLE_EMPLOYEE);
+    }
+
+    private User saveUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username);
+        user.setPassword("{noop}unused");
+        user.setRole(role);
+        user.setEnabled(true);
+        user.setFirstTimeLogin(false);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
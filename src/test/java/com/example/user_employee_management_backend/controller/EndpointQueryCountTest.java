@@ -0,0 +1,352 @@
+package com.example.user_employee_management_backend.controller;
+
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import com.example.user_employee_management_backend.security.JwtUtils;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import com.example.user_employee_management_backend.service.LeaveBalanceProvisioningService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Guards every REST endpoint against N+1 and over-fetching regressions.
+ * Each endpoint is called through MockMvc with a real JWT against a seeded dataset that is
+ * larger than one page, and the SQL statements executed and result-set rows read on the request
+ * thread (counted by a datasource-proxy around the pool) must stay within the budget below.
+ * A lazy association loaded per row, or a listing that stops paging, breaks the build.
+ *
+ * The budgets are the current counts. When a change legitimately alters one, update it here,
+ * together with the reason in the commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+    private static final Logger logger = LoggerFactory.getLogger(EndpointQueryCountTest.class);
+
+    private static final int EMPLOYEES = 30;
+    private static final int LEAVE_TYPES = 3;
+    private static final int REQUESTS_PER_EMPLOYEE = 2;
+    private static final LocalDate MONDAY = LocalDate.of(2035, 3, 5);
+    private static final String PASSWORD = "query-count-password";
+
+    /** Counts statements and rows on the thread that is currently capturing. */
+    static class SqlCounter implements QueryExecutionListener, MethodExecutionListener {
+        private volatile Thread capturing;
+        private long statements;
+        private long rows;
+
+        void start() {
+            statements = 0;
+            rows = 0;
+            capturing = Thread.currentThread();
+        }
+
+        void stop() {
+            capturing = null;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        // One per execute/executeBatch call, i.e. per round trip.
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (capturing == Thread.currentThread()) {
+                statements++;
+            }
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext context) {
+            if (capturing == Thread.currentThread() && context.getTarget() instanceof ResultSet
+                    && context.getMethod().getName().equals("next") && Boolean.TRUE.equals(context.getResult())) {
+                rows++;
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCounterConfig {
+        @Bean
+        SqlCounter sqlCounter() {
+            return new SqlCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSource(ObjectProvider<SqlCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        SqlCounter sqlCounter = counter.getObject();
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name("query-count")
+                                .listener(sqlCounter)
+                                .methodListener(sqlCounter)
+                                .proxyResultSet()
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private record Case(String name, String token, Supplier<MockHttpServletRequestBuilder> request,
+                        boolean repeatable, long maxStatements, long maxRows) {}
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SqlCounter sqlCounter;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private LeaveBalanceProvisioningService provisioningService;
+
+    private String admin;
+    private String hr;
+    private String manager;
+    private String employee;
+    private final List<Long> pendingIds = new ArrayList<>();
+    private final List<Employee> employees = new ArrayList<>();
+    private Long leaveTypeId;
+    private Long disabledUserId;
+    private Long leaverId;
+    private Long unusedLeaveTypeId;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee e = new Employee();
+            e.setName("QC Employee " + i);
+            e.setEmail("qc.employee" + i + "@example.com");
+            e.setDepartment("QC Dept " + (i % 3));
+            e.setStatus(EmployeeStatus.ACTIVE);
+            e.setDateJoined(LocalDate.of(2024, 1, 1).plusDays(i));
+            employees.add(employeeRepository.save(e));
+            // Every employee has an account, so user listings are larger than a page too.
+            disabledUserId = saveUser("qc.employee" + i + "@example.com", Role.ROLE_EMPLOYEE).getId();
+        }
+        List<LeaveType> types = new ArrayList<>();
+        for (int t = 0; t < LEAVE_TYPES; t++) {
+            LeaveType type = new LeaveType();
+            type.setName("QC Leave " + t);
+            type.setDefaultDays(30);
+            types.add(leaveTypeRepository.save(type));
+        }
+        leaveTypeId = types.get(0).getId();
+        provisioningService.provisionBalancesFor(employees.stream().map(Employee::getId).toList());
+
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            for (int r = 0; r < REQUESTS_PER_EMPLOYEE; r++) {
+                LocalDate start = MONDAY.plusWeeks(r * 4L + 1);
+                requests.add(new LeaveRequest(employees.get(i), types.get((i + r) % LEAVE_TYPES), start, start.plusDays(1),
+                        "QC " + i + "/" + r, LeaveStatus.PENDING));
+            }
+        }
+        leaveRequestRepository.saveAll(requests).forEach(request -> pendingIds.add(request.getId()));
+
+        // No balances or requests reference these, so they can be deleted.
+        Employee leaver = new Employee();
+        leaver.setName("QC Leaver");
+        leaver.setEmail("qc.leaver@example.com");
+        leaver.setDepartment("QC Dept 0");
+        leaver.setStatus(EmployeeStatus.ACTIVE);
+        leaverId = employeeRepository.save(leaver).getId();
+        LeaveType unused = new LeaveType();
+        unused.setName("QC Unused Leave");
+        unused.setDefaultDays(1);
+        unusedLeaveTypeId = leaveTypeRepository.save(unused).getId();
+
+        admin = token(saveUser("qc.admin@example.com", Role.ROLE_ADMIN));
+        hr = token(saveUser("qc.hr@example.com", Role.ROLE_HR));
+        manager = token(saveUser("qc.manager@example.com", Role.ROLE_MANAGER));
+        employee = token(userRepository.findByUsername("qc.employee0@example.com").orElseThrow());
+    }
+
+    private User saveUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(role);
+        user.setEnabled(true);
+        user.setFirstTimeLogin(false);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private List<Case> cases() {
+        String from = MONDAY.toString();
+        String to = MONDAY.plusWeeks(8).toString();
+        return List.of(
+                // --- Auth ---
+                new Case("POST /api/auth/login", null, () -> post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"qc.employee1@example.com\",\"password\":\"" + PASSWORD + "\",\"role\":\"EMPLOYEE\"}"),
+                        true, 1, 1),
+                // --- Leave (employee) ---
+                new Case("GET /api/leave/my-requests", employee, () -> get("/api/leave/my-requests"), true, 1, 2),
+                new Case("GET /api/leave/my-balances", employee, () -> get("/api/leave/my-balances"), true, 1, 3),
+                new Case("GET /api/leave/types", employee, () -> get("/api/leave/types"), true, 0, 0),
+                // Includes the row lock on the employee and the authoritative overlap query.
+                new Case("POST /api/leave/requests", employee, () -> post("/api/leave/requests").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"leaveTypeId\":" + leaveTypeId + ",\"startDate\":\"" + MONDAY.plusWeeks(20)
+                                + "\",\"endDate\":\"" + MONDAY.plusWeeks(20).plusDays(2) + "\",\"reason\":\"QC\"}"),
+                        false, 4, 2),
+                // --- Leave (manager) ---
+                // The unpaged queue reads every pending request; its row budget grows with the seed.
+                new Case("GET /api/leave/requests/pending", manager, () -> get("/api/leave/requests/pending"), true, 1, 61),
+                new Case("GET /api/leave/requests/pending?cursor", manager,
+                        () -> get("/api/leave/requests/pending").param("cursor", "").param("size", "20"), true, 1, 21),
+                new Case("GET /api/leave/who-is-out", manager,
+                        () -> get("/api/leave/who-is-out").param("from", from).param("to", to), true, 0, 0),
+                new Case("GET /api/leave/requests/stream", manager, () -> get("/api/leave/requests/stream"), true, 0, 0),
+                new Case("PUT /api/leave/requests/{id}/status", manager,
+                        () -> put("/api/leave/requests/" + pendingIds.get(0) + "/status").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"status\":\"APPROVED\"}"), false, 3, 1),
+                new Case("POST /api/leave/requests/decisions", manager,
+                        () -> post("/api/leave/requests/decisions").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"decisions\":[{\"requestId\":" + pendingIds.get(1) + ",\"status\":\"APPROVED\"},"
+                                        + "{\"requestId\":" + pendingIds.get(2) + ",\"status\":\"APPROVED\"},"
+                                        + "{\"requestId\":" + pendingIds.get(3) + ",\"status\":\"DENIED\"}]}"), false, 5, 3),
+                // --- HR dashboard ---
+                new Case("GET /api/dashboard/stats", hr, () -> get("/api/dashboard/stats"), true, 0, 0),
+                new Case("GET /api/dashboard/stats/stream", hr, () -> get("/api/dashboard/stats/stream"), true, 0, 0),
+                new Case("GET /api/dashboard/employees", hr,
+                        () -> get("/api/dashboard/employees").param("page", "0").param("size", "20"), true, 2, 21),
+                new Case("GET /api/dashboard/employees?cursor", hr,
+                        () -> get("/api/dashboard/employees").param("cursor", "").param("size", "20"), true, 1, 21),
+                new Case("GET /api/dashboard/employees/export", hr, () -> get("/api/dashboard/employees/export"), true, 1, 31),
+                new Case("POST /api/dashboard/employees", hr, () -> post("/api/dashboard/employees").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"QC Onboarded\",\"email\":\"qc.onboarded@example.com\",\"department\":\"QC Dept 0\","
+                                + "\"status\":\"ACTIVE\",\"temporaryPassword\":\"temporary\"}"), false, 5, 0),
+                new Case("POST /api/dashboard/employees/import", hr, () -> post("/api/dashboard/employees/import")
+                        .contentType("text/csv").content(importCsv()), false, 13, 0),
+                new Case("PUT /api/dashboard/employees/{id}", hr, () -> put("/api/dashboard/employees/" + employees.get(5).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"QC Renamed\",\"email\":\"qc.employee5@example.com\",\"department\":\"QC Dept 1\","
+                                + "\"status\":\"ACTIVE\"}"), false, 2, 1),
+                // Includes looking up the accounts whose cached principal carries the deleted employee.
+                new Case("DELETE /api/dashboard/employees/{id}", hr,
+                        () -> delete("/api/dashboard/employees/" + leaverId), false, 3, 1),
+                // --- Admin ---
+                // The delete above only evicted the leaver's own principal; the admin's stays cached.
+                new Case("GET /api/admin/dashboard/stats", admin, () -> get("/api/admin/dashboard/stats"), true, 0, 0),
+                new Case("GET /api/admin/dashboard/stats/stream", admin, () -> get("/api/admin/dashboard/stats/stream"), true, 0, 0),
+                new Case("GET /api/admin/security/principal-cache", admin, () -> get("/api/admin/security/principal-cache"), true, 0, 0),
+                new Case("GET /api/admin/users", admin, () -> get("/api/admin/users").param("page", "0").param("size", "20"), true, 2, 21),
+                new Case("GET /api/admin/users?cursor", admin,
+                        () -> get("/api/admin/users").param("cursor", "").param("size", "20"), true, 1, 21),
+                new Case("GET /api/admin/users/export", admin, () -> get("/api/admin/users/export"), true, 1, 38),
+                new Case("PUT /api/admin/users/{id}/status", admin, () -> put("/api/admin/users/" + disabledUserId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"enabled\":false}"), false, 2, 1),
+                new Case("GET /api/admin/leave-types", admin, () -> get("/api/admin/leave-types"), true, 0, 0),
+                new Case("POST /api/admin/leave-types", admin, () -> post("/api/admin/leave-types").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"QC New Leave\",\"defaultDays\":7}"), false, 3, 0),
+                new Case("PUT /api/admin/leave-types/{id}", admin, () -> put("/api/admin/leave-types/" + leaveTypeId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"QC Leave Renamed\",\"defaultDays\":30}"),
+                        false, 3, 1),
+                new Case("DELETE /api/admin/leave-types/{id}", admin,
+                        () -> delete("/api/admin/leave-types/" + unusedLeaveTypeId), false, 4, 1),
+                new Case("POST /api/admin/users", admin, () -> post("/api/admin/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"qc.newhr\",\"email\":\"qc.newhr@example.com\",\"password\":\"secret1\","
+                                + "\"role\":\"ROLE_HR\"}"), false, 3, 0),
+                new Case("POST /api/users", admin, () -> post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"qc.newmanager\",\"email\":\"qc.newmanager@example.com\",\"password\":\"secret1\","
+                                + "\"role\":\"ROLE_MANAGER\"}"), false, 3, 0),
+                // Last: changes the HR password.
+                new Case("POST /api/auth/reset-password", hr, () -> post("/api/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"newPassword\":\"new-password\"}"), false, 3, 2));
+    }
+
+    private static String importCsv() {
+        StringBuilder csv = new StringBuilder("name,email,department,age,totalExperience,pastExperience,dateJoined,dateOfBirth,status,temporaryPassword\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("QC Imported ").append(i).append(",qc.imported").append(i).append("@example.com,QC Dept 2,30,5,,2025-01-06,,ACTIVE,temporary\n");
+        }
+        return csv.toString();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> endpointsStayWithinTheirSqlBudget() throws Exception {
+        List<Case> cases = cases();
+        // Warm the principal cache and the lazily seeded in-memory indexes, which would
+        // otherwise charge their one-off loading to whichever endpoint runs first.
+        for (Case c : cases) {
+            if (c.repeatable()) {
+                perform(c);
+            }
+        }
+        return cases.stream().map(c -> DynamicTest.dynamicTest(c.name(), () -> {
+            sqlCounter.start();
+            int status;
+            try {
+                status = perform(c);
+            } finally {
+                sqlCounter.stop();
+            }
+            logger.debug("{}: status {}, {} statements, {} rows", c.name(), status, sqlCounter.statements, sqlCounter.rows);
+            assertTrue(status < 400, c.name() + " returned " + status);
+            assertTrue(sqlCounter.statements <= c.maxStatements(), c.name() + " ran " + sqlCounter.statements
+                    + " SQL statements, budget " + c.maxStatements() + " (N+1?)");
+            assertTrue(sqlCounter.rows <= c.maxRows(), c.name() + " read " + sqlCounter.rows
+                    + " rows, budget " + c.maxRows());
+        }));
+    }
+
+    private int perform(Case c) throws Exception {
+        MockHttpServletRequestBuilder request = c.request().get();
+        if (c.token() != null) {
+            request.header("Authorization", "Bearer " + c.token());
+        }
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+}
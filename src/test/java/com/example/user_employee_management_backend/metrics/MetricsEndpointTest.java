@@ -0,0 +1,83 @@
+package com.example.user_employee_management_backend.metrics;
+
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs in, calls an endpoint with the token and checks that the Prometheus scrape
+ * exposes the HTTP, service, SQL, JWT, password, pool and principal-cache meters.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @Test
+    void prometheusScrapeExposesApplicationMeters() throws Exception {
+        User hr = new User();
+        hr.setUsername("metrics.hr@example.com");
+        hr.setEmail("metrics.hr@example.com");
+        hr.setPassword(passwordEncoder.encode("metrics-password"));
+        hr.setRole(Role.ROLE_HR);
+        hr.setEnabled(true);
+        userRepository.save(hr);
+
+        String login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"metrics.hr@example.com\",\"password\":\"metrics-password\",\"role\":\"HR\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode response = objectMapper.readTree(login);
+        String token = response.get("token").asText();
+
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/dashboard/employees").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertContains(scrape, "http_server_requests_seconds_bucket{");
+        assertContains(scrape, "uri=\"/api/dashboard/stats\"");
+        assertContains(scrape, "app_http_sql_statements_count{");
+        assertContains(scrape, "app_service_seconds_count{");
+        assertContains(scrape, "class=\"com.example.user_employee_management_backend.service.EmployeeService\"");
+        assertContains(scrape, "app_jwt_verification_seconds_count{");
+        assertContains(scrape, "outcome=\"valid\"");
+        assertContains(scrape, "app_password_matches_seconds_count{");
+        assertContains(scrape, "app_password_encode_seconds_count{");
+        assertContains(scrape, "hikaricp_connections_active{");
+        assertContains(scrape, "app_principal_cache_size{");
+
+        // Other Actuator endpoints stay closed to anonymous callers.
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is4xxClientError());
+    }
+
+    private static void assertContains(String scrape, String expected) {
+        assertTrue(scrape.contains(expected), "missing " + expected);
+    }
+}
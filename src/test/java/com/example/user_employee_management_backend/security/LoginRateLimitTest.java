@@ -0,0 +1,100 @@
+package com.example.user_employee_management_backend.security;
+
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "security.login-rate-limit.ip.capacity=4",
+        "security.login-rate-limit.ip.refill-ms=60000",
+        "security.login-rate-limit.username.capacity=2",
+        "security.login-rate-limit.username.refill-ms=60000"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class LoginRateLimitTest {
+
+    private static final String PASSWORD = "rate-limit-password";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void attemptsOnOneAccountAreLimitedAcrossAddresses() throws Exception {
+        saveUser("limited.user@example.com");
+        assertEquals(401, login("10.0.1.1", "limited.user@example.com", "wrong-password").getResponse().getStatus());
+        assertEquals(200, login("10.0.1.2", "limited.user@example.com", PASSWORD).getResponse().getStatus());
+
+        // The third attempt is refused before any lookup, whatever the address or letter case.
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MvcResult limited = login("10.0.1.3", "Limited.User@example.com", PASSWORD);
+        assertEquals(429, limited.getResponse().getStatus());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        long retryAfter = Long.parseLong(limited.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 0 && retryAfter <= 60, "Retry-After " + retryAfter);
+        assertTrue(limited.getResponse().getContentAsString().contains("Too many login attempts"));
+        assertEquals(1.0, meterRegistry.get("app.login.rate-limit.rejected").tag("key", "username").functionCounter().count());
+
+        // Other accounts are unaffected.
+        saveUser("other.user@example.com");
+        assertEquals(200, login("10.0.1.3", "other.user@example.com", PASSWORD).getResponse().getStatus());
+    }
+
+    @Test
+    void attemptsFromOneAddressAreLimitedAcrossAccounts() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(401, login("10.0.2.1", "sprayed" + i + "@example.com", "guess").getResponse().getStatus());
+        }
+        MvcResult limited = login("10.0.2.1", "sprayed4@example.com", "guess");
+        assertEquals(429, limited.getResponse().getStatus());
+        assertNotNull(limited.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("app.login.rate-limit.rejected").tag("key", "ip").functionCounter().count());
+
+        assertEquals(401, login("10.0.2.2", "sprayed4@example.com", "guess").getResponse().getStatus());
+        assertTrue(meterRegistry.get("app.login.rate-limit.allowed").functionCounter().count() >= 5);
+    }
+
+    private MvcResult login(String clientIp, String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .with(request -> {
+                            request.setRemoteAddr(clientIp);
+                            return request;
+                        })
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\",\"role\":\"EMPLOYEE\"}"))
+                .andReturn();
+    }
+
+    private void saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(Role.ROLE_EMPLOYEE);
+        user.setEnabled(true);
+        user.setFirstTimeLogin(false);
+        userRepository.save(user);
+    }
+}
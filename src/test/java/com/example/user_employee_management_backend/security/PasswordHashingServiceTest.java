@@ -0,0 +1,158 @@
+package com.example.user_employee_management_backend.security;
+
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "security.password.bcrypt-strength=6",
+        "security.password.hashing-threads=1",
+        "security.password.queue-capacity=1",
+        "security.password.retry-after-seconds=2"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PasswordHashingServiceTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private PasswordHashingService passwordHashingService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void loginIsRefusedWith503WhileThePoolIsSaturated() throws Exception {
+        saveUser("hash.busy@example.com", new BCryptPasswordEncoder(6).encode("busy-password"));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        // One task occupies the only thread, then a second one the only queue slot.
+        passwordHashingService.getExecutor().execute(blocker);
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        passwordHashingService.getExecutor().execute(blocker);
+        try {
+            long rejectedBefore = passwordHashingService.getRejectedCount();
+            MvcResult busy = login("hash.busy@example.com", "busy-password");
+            assertEquals(503, busy.getResponse().getStatus());
+            assertEquals("2", busy.getResponse().getHeader(HttpHeaders.RETRY_AFTER));
+            assertEquals(rejectedBefore + 1, passwordHashingService.getRejectedCount());
+            assertEquals(rejectedBefore + 1, meterRegistry.get("app.password.rejected").functionCounter().count());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(200, login("hash.busy@example.com", "busy-password").getResponse().getStatus());
+        assertNotNull(meterRegistry.find("executor.queued").tag("name", "passwordHashing").gauge());
+    }
+
+    @Test
+    void hashesBelowTheConfiguredCostAreUpgradedOnLogin() throws Exception {
+        saveUser("hash.upgrade@example.com", new BCryptPasswordEncoder(4).encode("upgrade-password"));
+
+        assertEquals(401, login("hash.upgrade@example.com", "wrong-password").getResponse().getStatus());
+        assertTrue(storedHash("hash.upgrade@example.com").startsWith("$2a$04$"), "not upgraded on a failed login");
+
+        assertEquals(200, login("hash.upgrade@example.com", "upgrade-password").getResponse().getStatus());
+        String upgraded = storedHash("hash.upgrade@example.com");
+        assertTrue(upgraded.startsWith("$2a$06$"), upgraded);
+        assertTrue(passwordHashingService.matches("upgrade-password", upgraded));
+        assertFalse(passwordHashingService.upgradeEncoding(upgraded));
+        assertEquals(200, login("hash.upgrade@example.com", "upgrade-password").getResponse().getStatus());
+    }
+
+    @Test
+    void aRefusedReHashDoesNotFailTheLogin() {
+        // Verification succeeds, but the pool refuses the re-hash that follows it.
+        PasswordEncoder busyOnEncode = new PasswordEncoder() {
+            @Override public String encode(CharSequence rawPassword) {
+                if ("deferred-password".contentEquals(rawPassword)) {
+                    throw new PasswordHashingBusyException(1);
+                }
+                return "unused"; // the provider's timing-attack dummy hash
+            }
+            @Override public boolean matches(CharSequence rawPassword, String encodedPassword) { return true; }
+            @Override public boolean upgradeEncoding(String encodedPassword) { return true; }
+        };
+        UserDetails stored = org.springframework.security.core.userdetails.User.withUsername("hash.deferred@example.com")
+                .password("$2a$04$old").roles("EMPLOYEE").build();
+        List<String> updated = new ArrayList<>();
+        DaoAuthenticationProvider provider = new HashUpgradingAuthenticationProvider(busyOnEncode);
+        provider.setUserDetailsService(username -> stored);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            updated.add(newPassword);
+            return user;
+        });
+
+        Authentication result = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("hash.deferred@example.com", "deferred-password"));
+        assertTrue(result.isAuthenticated());
+        assertEquals(stored, result.getPrincipal());
+        assertTrue(updated.isEmpty(), "the old hash is kept");
+    }
+
+    @Test
+    void bulkHashingWaitsInsteadOfFailing() throws Exception {
+        // More hashes than the pool's one thread and one queue slot take at once.
+        List<Future<String>> hashes = passwordHashingService.encodeAll(List.of("one-password", "two-password", "three-password"));
+        List<String> encoded = new ArrayList<>();
+        for (Future<String> hash : hashes) {
+            encoded.add(hash.get());
+        }
+        assertTrue(passwordHashingService.matches("two-password", encoded.get(1)));
+        assertTrue(passwordHashingService.matches("three-password", encoded.get(2)));
+        assertEquals(6.0, meterRegistry.get("app.password.bcrypt.strength").gauge().value());
+    }
+
+    private MvcResult login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\",\"role\":\"EMPLOYEE\"}"))
+                .andReturn();
+    }
+
+    private String storedHash(String username) {
+        return userRepository.findByUsername(username).orElseThrow().getPassword();
+    }
+
+    private void saveUser(String username, String encodedPassword) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username);
+        user.setPassword(encodedPassword);
+        user.setRole(Role.ROLE_EMPLOYEE);
+        user.setEnabled(true);
+        user.setFirstTimeLogin(false);
+        userRepository.save(user);
+    }
+}
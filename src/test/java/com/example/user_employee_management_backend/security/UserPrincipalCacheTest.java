@@ -0,0 +1,82 @@
+package com.example.user_employee_management_backend.security;
+
+import com.example.user_employee_management_backend.dto.EmployeeOnboardRequestDto;
+import com.example.user_employee_management_backend.model.Employee;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import com.example.user_employee_management_backend.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Employee changes evict only the principals of the accounts they affect.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserPrincipalCacheTest {
+
+    private static final String UNLINKED = "principal.unlinked@example.com";
+    private static final String BYSTANDER = "principal.bystander@example.com";
+
+    @Autowired private UserPrincipalCache principalCache;
+    @Autowired private UserDetailsServiceImpl userDetailsService;
+    @Autowired private EmployeeService employeeService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    @Test
+    void anEmailChangeReResolvesOnlyTheAffectedAccounts() {
+        saveUser(UNLINKED);
+        saveUser(BYSTANDER);
+        Long bystanderEmployeeId = saveEmployee(BYSTANDER).getId();
+        Employee renamed = saveEmployee("principal.old@example.com");
+
+        assertNull(cachedEmployeeId(UNLINKED), "no employee profile yet");
+        assertEquals(bystanderEmployeeId, cachedEmployeeId(BYSTANDER));
+
+        employeeService.updateEmployee(renamed.getId(), new EmployeeOnboardRequestDto("Renamed", UNLINKED,
+                "Principal Dept", 30, 1, null, LocalDate.of(2024, 1, 1), null, EmployeeStatus.ACTIVE, null));
+
+        long misses = principalCache.getMissCount();
+        assertEquals(renamed.getId(), cachedEmployeeId(UNLINKED), "the account with the new email now has the profile");
+        assertEquals(bystanderEmployeeId, cachedEmployeeId(BYSTANDER));
+        assertEquals(misses + 1, principalCache.getMissCount(), "only the affected principal was reloaded");
+
+        employeeService.deleteEmployee(renamed.getId());
+        assertNull(cachedEmployeeId(UNLINKED), "the deleted profile is dropped from the principal");
+    }
+
+    // What AuthTokenFilter resolves for a token of this user.
+    private Long cachedEmployeeId(String username) {
+        return principalCache.get(username, userDetailsService::loadUserByUsername).getEmployeeId();
+    }
+
+    private Employee saveEmployee(String email) {
+        Employee employee = new Employee();
+        employee.setName(email);
+        employee.setEmail(email);
+        employee.setDepartment("Principal Dept");
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        return employeeRepository.save(employee);
+    }
+
+    private void saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username);
+        user.setPassword("{noop}unused");
+        user.setRole(Role.ROLE_EMPLOYEE);
+        user.setEnabled(true);
+        user.setFirstTimeLogin(false);
+        userRepository.save(user);
+    }
+}
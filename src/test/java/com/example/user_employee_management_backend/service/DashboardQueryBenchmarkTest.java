@@ -0,0 +1,175 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.AdminDashboardStatsDto;
+import com.example.user_employee_management_backend.dto.DashboardStatsDto;
+import com.example.user_employee_management_backend.model.Employee;
+import com.example.user_employee_management_backend.model.EmployeeStatus;
+import com.example.user_employee_management_backend.model.LeaveStatus;
+import com.example.user_employee_management_backend.model.Role;
+import com.example.user_employee_management_backend.model.User;
+import com.example.user_employee_management_backend.repository.EmployeeRepository;
+import com.example.user_employee_management_backend.repository.LeaveRequestRepository;
+import com.example.user_employee_management_backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round trips and latency per dashboard call: the original per-figure COUNT queries, the single-scan
+ * aggregate queries (counters disabled, as configured here) and the in-memory counters, which must
+ * all report the same figures. The round trips are asserted; the latency is logged at debug level.
+ * The seeded rows live in a database of their own, so they do not skew the other test classes.
+ */
+@SpringBootTest(properties = {
+        "dashboard.counters.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dashboard_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardQueryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardQueryBenchmarkTest.class);
+
+    private static final int EMPLOYEES = 2_000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private DashboardService dashboardService;
+    @Autowired private UserServiceImpl userService;
+    @Autowired private DashboardCounters dashboardCounters;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        EmployeeStatus[] statuses = EmployeeStatus.values();
+        Role[] roles = {Role.ROLE_HR, Role.ROLE_MANAGER, Role.ROLE_EMPLOYEE, Role.ROLE_EMPLOYEE};
+        List<Employee> employees = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setEmail("bench" + i + "@example.com");
+            employee.setDepartment("Dept " + (i % 10));
+            employee.setStatus(statuses[i % statuses.length]);
+            employee.setDateJoined(LocalDate.now().minusDays(i % 90));
+            employees.add(employee);
+
+            User user = new User();
+            user.setUsername("bench" + i + "@example.com");
+            user.setEmail("bench" + i + "@example.com");
+            user.setPassword("n/a");
+            user.setRole(roles[i % roles.length]);
+            user.setEnabled(i % 7 != 0);
+            user.setFirstTimeLogin(i % 3 == 0);
+            users.add(user);
+        }
+        employeeRepository.saveAll(employees);
+        userRepository.saveAll(users);
+        dashboardCounters.reconcile();
+    }
+
+    @Test
+    void hrDashboard() {
+        DashboardStatsDto legacy = measure("HR dashboard, per-figure COUNTs", 5, this::legacyHrStats);
+        DashboardStatsDto aggregate = measure("HR dashboard, aggregate queries", 2, dashboardService::getDashboardStats);
+        // The figures DashboardService serves when the counters are enabled.
+        DashboardStatsDto counters = measure("HR dashboard, in-memory counters", 0, () -> new DashboardStatsDto(
+                dashboardCounters.totalEmployees(),
+                dashboardCounters.employeesJoinedIn(YearMonth.now()),
+                dashboardCounters.leaveRequestsWithStatus(LeaveStatus.PENDING),
+                dashboardCounters.employeesWithStatus(EmployeeStatus.ACTIVE),
+                dashboardCounters.employeesWithStatus(EmployeeStatus.ON_PROBATION)));
+
+        assertEquals(legacy, aggregate);
+        assertEquals(legacy, counters);
+    }
+
+    @Test
+    void adminDashboard() {
+        AdminDashboardStatsDto legacy = measure("Admin dashboard, per-figure COUNTs", 7, this::legacyAdminStats);
+        AdminDashboardStatsDto aggregate = measure("Admin dashboard, grouped query", 1, userService::getAdminDashboardStats);
+        // The figures UserServiceImpl serves when the counters are enabled.
+        AdminDashboardStatsDto counters = measure("Admin dashboard, in-memory counters", 0, () -> new AdminDashboardStatsDto(
+                dashboardCounters.usersWithRole(Role.ROLE_HR),
+                dashboardCounters.usersWithRole(Role.ROLE_MANAGER),
+                dashboardCounters.usersWithRole(Role.ROLE_EMPLOYEE),
+                dashboardCounters.pendingOnboardings(),
+                dashboardCounters.enabledUsersWithRole(Role.ROLE_HR),
+                dashboardCounters.enabledUsersWithRole(Role.ROLE_MANAGER),
+                dashboardCounters.enabledUsersWithRole(Role.ROLE_EMPLOYEE)));
+
+        for (AdminDashboardStatsDto stats : List.of(aggregate, counters)) {
+            assertEquals(legacy.getTotalHr(), stats.getTotalHr());
+            assertEquals(legacy.getActiveHr(), stats.getActiveHr());
+            assertEquals(legacy.getTotalManagers(), stats.getTotalManagers());
+            assertEquals(legacy.getActiveManagers(), stats.getActiveManagers());
+            assertEquals(legacy.getTotalEmployees(), stats.getTotalEmployees());
+            assertEquals(legacy.getActiveEmployees(), stats.getActiveEmployees());
+            assertEquals(legacy.getPendingOnboardings(), stats.getPendingOnboardings());
+        }
+    }
+
+    // Latency is measured only when debug logging is on for this test.
+    private <T> T measure(String label, long expectedStatements, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+
+        if (logger.isDebugEnabled()) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                call.get();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                call.get();
+            }
+            logger.debug("{}: {} round trips, {} us/call", label, statements, (System.nanoTime() - start) / 1_000 / ITERATIONS);
+        }
+        assertEquals(expectedStatements, statements, label);
+        return result;
+    }
+
+    // The figures exactly as the dashboards computed them before the aggregate queries.
+    private DashboardStatsDto legacyHrStats() {
+        YearMonth thisMonth = YearMonth.now();
+        return new DashboardStatsDto(
+                employeeRepository.count(),
+                employeeRepository.countByDateJoinedBetween(thisMonth.atDay(1), thisMonth.atEndOfMonth()),
+                leaveRequestRepository.countByStatus(LeaveStatus.PENDING),
+                employeeRepository.countByStatus(EmployeeStatus.ACTIVE),
+                employeeRepository.countByStatus(EmployeeStatus.ON_PROBATION));
+    }
+
+    private AdminDashboardStatsDto legacyAdminStats() {
+        return new AdminDashboardStatsDto(
+                userRepository.countByRole(Role.ROLE_HR),
+                userRepository.countByRole(Role.ROLE_MANAGER),
+                userRepository.countByRole(Role.ROLE_EMPLOYEE),
+                userRepository.countByRoleAndFirstTimeLoginTrue(Role.ROLE_EMPLOYEE),
+                userRepository.countByRoleAndEnabled(Role.ROLE_HR, true),
+                userRepository.countByRoleAndEnabled(Role.ROLE_MANAGER, true),
+                userRepository.countByRoleAndEnabled(Role.ROLE_EMPLOYEE, true));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.AbsenceDto;
+import com.example.user_employee_management_backend.dto.LeaveRequestDto;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the absence index against the equivalent SQL range query and times both.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeaveAbsenceIndexTest {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveAbsenceIndexTest.class);
+
+    private static final String DEPARTMENT = "Absence Dept";
+    private static final int EMPLOYEES = 200;
+    private static final int REQUESTS_PER_EMPLOYEE = 10;
+    private static final LocalDate BASE = LocalDate.of(2034, 1, 2); // A Monday
+
+    @Autowired private LeaveAbsenceIndex absenceIndex;
+    @Autowired private LeaveService leaveService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private LeaveBalanceProvisioningService provisioningService;
+
+    private final List<Employee> employees = new ArrayList<>();
+    private LeaveType leaveType;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setName("Absent " + i);
+            employee.setEmail("absent" + i + "@example.com");
+            employee.setDepartment((i % 4 == 0) ? "Elsewhere" : DEPARTMENT);
+            employees.add(employeeRepository.save(employee));
+        }
+        leaveType = new LeaveType();
+        leaveType.setName("Absence Leave");
+        leaveType.setDefaultDays(365);
+        leaveType = leaveTypeRepository.save(leaveType);
+        provisioningService.provisionBalancesFor(employees.stream().map(Employee::getId).toList());
+
+        // Non-overlapping requests per employee spread over the year, with varied lengths and statuses.
+        LeaveStatus[] statuses = {LeaveStatus.PENDING, LeaveStatus.APPROVED, LeaveStatus.DENIED};
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int e = 0; e < EMPLOYEES; e++) {
+            for (int r = 0; r < REQUESTS_PER_EMPLOYEE; r++) {
+                LocalDate start = BASE.plusDays(r * 30L + (e % 17));
+                requests.add(new LeaveRequest(employees.get(e), leaveType, start, start.plusDays((e + r) % 9),
+                        "Absence", statuses[(e + r) % 3]));
+            }
+        }
+        leaveRequestRepository.saveAll(requests);
+        absenceIndex.rebuild();
+    }
+
+    @Test
+    void whoIsOutMatchesTheRangeQuery() {
+        LocalDate from = BASE.plusDays(40);
+        LocalDate to = BASE.plusDays(70);
+
+        List<AbsenceDto> sql = time("who-is-out, SQL range scan", () ->
+                leaveRequestRepository.findAbsences(LeaveAbsenceIndex.ABSENT, DEPARTMENT, from, to));
+        List<AbsenceDto> index = time("who-is-out, absence index", () -> absenceIndex.whoIsOut(DEPARTMENT, from, to));
+
+        assertFalse(sql.isEmpty());
+        assertEquals(sql, index);
+        assertTrue(index.stream().allMatch(a -> a.status() != LeaveStatus.DENIED));
+    }
+
+    @Test
+    void rejectsSelfOverlapAndTracksNewRequests() {
+        Employee employee = employees.get(1);
+        LocalDate start = BASE.plusDays(196); // Monday
+        leaveService.submitLeaveRequest(employee.getId(), new LeaveRequestDto(leaveType.getId(), start, start.plusDays(4), "First"));
+
+        IllegalStateException overlap = assertThrows(IllegalStateException.class, () -> leaveService.submitLeaveRequest(
+                employee.getId(), new LeaveRequestDto(leaveType.getId(), start.plusDays(4), start.plusDays(7), "Second")));
+        assertTrue(overlap.getMessage().contains("overlap"), overlap.getMessage());
+
+        // Adjacent dates are fine.
+        leaveService.submitLeaveRequest(employee.getId(), new LeaveRequestDto(leaveType.getId(), start.plusDays(5), start.plusDays(8), "Third"));
+        assertEquals(2, absenceIndex.overlappingForEmployee(employee.getId(), start, start.plusDays(8)).size());
+    }
+
+    @Test
+    void concurrentSubmissionsOfTheSameDatesAcceptOnlyOne() throws Exception {
+        Employee employee = employees.get(3);
+        LocalDate start = BASE.plusDays(252); // Monday
+        LeaveRequestDto request = new LeaveRequestDto(leaveType.getId(), start, start.plusDays(1), "Double click");
+        // Both submissions pass the index before either commits; the row lock lets only one through.
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Callable<Boolean> submit = () -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            try {
+                leaveService.submitLeaveRequest(employee.getId(), request);
+                return true;
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains("overlap"), e.getMessage());
+                return false;
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = executor.invokeAll(List.of(submit, submit));
+            assertNotEquals(results.get(0).get(), results.get(1).get(), "exactly one submission is accepted");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, leaveRequestRepository.findOverlappingForEmployee(
+                employee.getId(), LeaveAbsenceIndex.ABSENT, start, start.plusDays(1)).size());
+    }
+
+    @Test
+    void rejectsRangesLongerThanTheMaximumSpan() {
+        IllegalArgumentException tooLong = assertThrows(IllegalArgumentException.class, () -> leaveService.submitLeaveRequest(
+                employees.get(2).getId(), new LeaveRequestDto(leaveType.getId(), BASE, LocalDate.MAX, "Forever")));
+        assertTrue(tooLong.getMessage().contains("cannot span"), tooLong.getMessage());
+    }
+
+    @Test
+    void enforcesTheDepartmentCap() {
+        LocalDate day = BASE.plusDays(301); // Monday
+        List<Employee> colleagues = employees.stream().filter(e -> DEPARTMENT.equals(e.getDepartment())).limit(3).toList();
+        ReflectionTestUtils.setField(leaveService, "maxConcurrentPerDepartment", 2);
+        try {
+            leaveService.submitLeaveRequest(colleagues.get(0).getId(), new LeaveRequestDto(leaveType.getId(), day, day, "Cap 1"));
+            leaveService.submitLeaveRequest(colleagues.get(1).getId(), new LeaveRequestDto(leaveType.getId(), day, day.plusDays(1), "Cap 2"));
+            IllegalStateException capped = assertThrows(IllegalStateException.class, () -> leaveService.submitLeaveRequest(
+                    colleagues.get(2).getId(), new LeaveRequestDto(leaveType.getId(), day.minusDays(2), day, "Cap 3")));
+            assertTrue(capped.getMessage().contains("Too many colleagues"), capped.getMessage());
+            assertEquals(2, absenceIndex.peakConcurrentAbsences(DEPARTMENT, day, day.plusDays(1), null));
+        } finally {
+            ReflectionTestUtils.setField(leaveService, "maxConcurrentPerDepartment", 0);
+        }
+    }
+
+    // Timed only when debug logging is on for this test.
+    private <T> T time(String label, Supplier<T> call) {
+        T result = call.get();
+        if (logger.isDebugEnabled()) {
+            for (int i = 0; i < 200; i++) {
+                call.get();
+            }
+            int iterations = 1_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                call.get();
+            }
+            logger.debug("{}: {} us/query", label, (System.nanoTime() - start) / 1_000 / iterations);
+        }
+        return result;
+    }
+}
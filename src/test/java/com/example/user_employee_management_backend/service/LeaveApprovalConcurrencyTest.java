@@ -0,0 +1,128 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many managers approving the same queue at once: every request is decided by several
+ * threads concurrently, and there are more requested days than the balance holds.
+ * No approval may be lost, none may be applied twice, and the balance may never overdraw.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveApprovalConcurrencyTest {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveApprovalConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 300;
+    private static final int BALANCE_DAYS = 200;
+
+    @Autowired private LeaveService leaveService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private WorkingDayCalendar workingDayCalendar;
+
+    @Test
+    void concurrentApprovalsNeitherLoseNorDuplicateDeductions() throws Exception {
+        Employee employee = new Employee();
+        employee.setName("Concurrent Approvals");
+        employee.setEmail("concurrent.approvals@example.com");
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee = employeeRepository.save(employee);
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName("Concurrency Leave");
+        leaveType.setDefaultDays(BALANCE_DAYS);
+        leaveType = leaveTypeRepository.save(leaveType);
+
+        LeaveBalance balance = new LeaveBalance();
+        balance.setEmployee(employee);
+        balance.setLeaveType(leaveType);
+        balance.setRemainingDays(BALANCE_DAYS);
+        balance = leaveBalanceRepository.save(balance);
+
+        // One-day requests on working days: 300 days requested against a balance of 200.
+        List<LeaveRequest> requests = new ArrayList<>();
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < REQUESTS; i++, day = day.plusDays(1)) {
+            while (!workingDayCalendar.isWorkingDay(day)) {
+                day = day.plusDays(1);
+            }
+            requests.add(new LeaveRequest(employee, leaveType, day, day, "Stress " + i, LeaveStatus.PENDING));
+        }
+        List<Long> requestIds = leaveRequestRepository.saveAll(requests).stream().map(LeaveRequest::getId).toList();
+
+        AtomicInteger approvals = new AtomicInteger();
+        AtomicInteger alreadyProcessed = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            // Each "manager" walks the whole queue in its own order.
+            List<Long> order = new ArrayList<>(requestIds);
+            Collections.shuffle(order, new Random(t));
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (Long id : order) {
+                    try {
+                        leaveService.updateRequestStatus(id, LeaveStatus.APPROVED);
+                        approvals.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        if (e.getMessage().contains("already been processed")) {
+                            alreadyProcessed.incrementAndGet();
+                        } else if (e.getMessage().contains("insufficient")) {
+                            insufficient.incrementAndGet();
+                        } else {
+                            unexpected.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        unexpected.incrementAndGet(); // e.g. a lock timeout; must still leave no trace
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        long elapsedMs = (System.nanoTime() - begin) / 1_000_000;
+
+        long approvedInDb = leaveRequestRepository.findAllById(requestIds).stream()
+                .filter(r -> r.getStatus() == LeaveStatus.APPROVED).count();
+        int remaining = leaveBalanceRepository.findById(balance.getId()).orElseThrow().getRemainingDays();
+
+        logger.debug("{} decisions in {} ms: {} approved, {} already processed, {} insufficient, {} other",
+                THREADS * REQUESTS, elapsedMs, approvals.get(), alreadyProcessed.get(), insufficient.get(), unexpected.get());
+
+        // Every successful approval is persisted exactly once and deducted exactly once.
+        assertEquals(approvals.get(), approvedInDb);
+        assertEquals(BALANCE_DAYS - approvedInDb, remaining);
+        // The balance was fully used and never overdrawn.
+        assertEquals(BALANCE_DAYS, approvedInDb);
+        assertEquals(0, remaining);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveBatchDecisionReportDto;
+import com.example.user_employee_management_backend.dto.LeaveDecisionDto;
+import com.example.user_employee_management_backend.dto.LeaveDecisionResultDto;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveBatchDecisionServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveBatchDecisionServiceTest.class);
+
+    @Autowired private LeaveBatchDecisionService batchDecisionService;
+    @Autowired private LeaveService leaveService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void decidesEachItemIndependentlyWithSetBasedWrites() {
+        Employee employee = new Employee();
+        employee.setName("Batch Decisions");
+        employee.setEmail("batch.decisions@example.com");
+        employee = employeeRepository.save(employee);
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName("Batch Leave");
+        leaveType.setDefaultDays(5);
+        leaveType = leaveTypeRepository.save(leaveType);
+
+        LeaveBalance balance = new LeaveBalance();
+        balance.setEmployee(employee);
+        balance.setLeaveType(leaveType);
+        balance.setRemainingDays(5);
+        balance = leaveBalanceRepository.save(balance);
+
+        // Five two-day (Monday-Tuesday) requests against five days: four are approved, of which only the first two fit.
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            LocalDate day = LocalDate.of(2031, 3, 3).plusDays(i * 7L); // Mondays
+            ids.add(leaveRequestRepository.save(new LeaveRequest(employee, leaveType, day, day.plusDays(1),
+                    "Batch " + i, LeaveStatus.PENDING)).getId());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        LeaveBatchDecisionReportDto report = batchDecisionService.decide(List.of(
+                new LeaveDecisionDto(ids.get(0), "approved"),
+                new LeaveDecisionDto(ids.get(1), "APPROVED"),
+                new LeaveDecisionDto(ids.get(2), "APPROVED"),
+                new LeaveDecisionDto(ids.get(3), "APPROVED"),
+                new LeaveDecisionDto(ids.get(4), "DENIED"),
+                new LeaveDecisionDto(ids.get(4), "APPROVED"),
+                new LeaveDecisionDto(-1L, "DENIED"),
+                new LeaveDecisionDto(ids.get(0), "PENDING")));
+        long statements = statistics.getPrepareStatementCount();
+
+        List<LeaveDecisionResultDto> results = report.results();
+        assertEquals(8, report.total());
+        assertEquals(3, report.succeeded());
+        assertTrue(results.get(0).success());
+        assertTrue(results.get(1).success());
+        assertTrue(results.get(2).message().contains("insufficient"));
+        assertTrue(results.get(3).message().contains("insufficient"));
+        assertTrue(results.get(4).success());
+        assertTrue(results.get(5).message().contains("Duplicate"));
+        assertTrue(results.get(6).message().contains("not found"));
+        assertTrue(results.get(7).message().contains("APPROVED or DENIED"));
+
+        List<LeaveStatus> statuses = ids.stream()
+                .map(id -> leaveRequestRepository.findById(id).orElseThrow().getStatus()).toList();
+        assertEquals(List.of(LeaveStatus.APPROVED, LeaveStatus.APPROVED, LeaveStatus.PENDING,
+                LeaveStatus.PENDING, LeaveStatus.DENIED), statuses);
+        assertEquals(1, leaveBalanceRepository.findById(balance.getId()).orElseThrow().getRemainingDays());
+
+        // Load, failed group deduction, balance read, partial deduction, one update per status.
+        logger.debug("Batch of {} decisions: {} statements", report.total(), statements);
+        assertEquals(6, statements);
+    }
+
+    @Test
+    void singleAndBatchApprovalsDeductTheStoredDayCount() {
+        Employee employee = new Employee();
+        employee.setName("Stored Days");
+        employee.setEmail("stored.days@example.com");
+        employee = employeeRepository.save(employee);
+
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName("Stored Days Leave");
+        leaveType.setDefaultDays(20);
+        leaveType = leaveTypeRepository.save(leaveType);
+
+        LeaveBalance balance = new LeaveBalance();
+        balance.setEmployee(employee);
+        balance.setLeaveType(leaveType);
+        balance.setRemainingDays(20);
+        balance = leaveBalanceRepository.save(balance);
+
+        // Monday to Sunday: five working days on insert, then the calendar-day count older rows hold.
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            LocalDate monday = LocalDate.of(2032, 3, 1).plusDays(i * 7L);
+            LeaveRequest request = leaveRequestRepository.save(new LeaveRequest(employee, leaveType, monday, monday.plusDays(6),
+                    "Stored " + i, LeaveStatus.PENDING));
+            assertEquals(5L, request.getNumDays());
+            request.setNumDays(7L);
+            ids.add(leaveRequestRepository.save(request).getId());
+        }
+
+        leaveService.updateRequestStatus(ids.get(0), LeaveStatus.APPROVED);
+        assertTrue(batchDecisionService.decide(List.of(new LeaveDecisionDto(ids.get(1), "APPROVED"))).results().get(0).success());
+
+        // Each approval charged the days its request shows, and neither recalculated them.
+        assertEquals(6, leaveBalanceRepository.findById(balance.getId()).orElseThrow().getRemainingDays());
+        for (Long id : ids) {
+            assertEquals(7L, leaveRequestRepository.findById(id).orElseThrow().getNumDays());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveBalanceResponseDto;
+import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rows and (approximate) bytes read per call on the leave read paths, before and after
+ * the DTO projections. "Before" loads the same entity graph the EAGER mappings used to load.
+ * Bytes are estimated from the loaded values: string lengths plus 8 bytes per scalar column.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LeaveReadPathBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(LeaveReadPathBenchmarkTest.class);
+
+    private static final int LEAVE_TYPES = 5;
+    private static final int REQUESTS = 50;
+    private static final int PAST_EXPERIENCE_CHARS = 20_000;
+
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private LeaveBalanceProvisioningService provisioningService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long employeeId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Employee employee = new Employee();
+        employee.setName("Read Path");
+        employee.setEmail("read.path@example.com");
+        employee.setDepartment("Engineering");
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setPastExperience("x".repeat(PAST_EXPERIENCE_CHARS));
+        employeeId = employeeRepository.save(employee).getId();
+
+        List<LeaveType> types = new ArrayList<>();
+        for (int i = 0; i < LEAVE_TYPES; i++) {
+            LeaveType type = new LeaveType();
+            type.setName("Read Path Type " + i);
+            type.setDefaultDays(20);
+            types.add(type);
+        }
+        types = leaveTypeRepository.saveAll(types);
+        provisioningService.provisionBalancesFor(List.of(employeeId));
+
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new LeaveRequest(employee, types.get(i % LEAVE_TYPES), LocalDate.now().plusDays(i),
+                    LocalDate.now().plusDays(i), "Reason " + i, i % 2 == 0 ? LeaveStatus.PENDING : LeaveStatus.APPROVED));
+        }
+        leaveRequestRepository.saveAll(requests);
+    }
+
+    @Test
+    void myLeaveRequests() {
+        List<LeaveRequestResponseDto> before = measure("my-requests, entity graph", () -> leaveRequestRepository
+                .findByEmployeeId(employeeId).stream().map(LeaveRequestResponseDto::fromEntity).toList());
+        List<LeaveRequestResponseDto> after = measure("my-requests, DTO projection",
+                () -> leaveRequestRepository.findResponseDtosByEmployeeId(employeeId));
+        assertEquals(before.size(), after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    @Test
+    void myLeaveBalances() {
+        List<LeaveBalanceResponseDto> before = measure("my-balances, entity graph", () -> leaveBalanceRepository
+                .findByEmployeeId(employeeId).stream().map(LeaveBalanceResponseDto::fromEntity).toList());
+        List<LeaveBalanceResponseDto> after = measure("my-balances, DTO projection",
+                () -> leaveBalanceRepository.findResponseDtosByEmployeeId(employeeId));
+        assertEquals(before.size(), after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    @Test
+    void pendingRequests() {
+        List<LeaveRequestResponseDto> before = measure("pending, JOIN FETCH entities", () -> leaveRequestRepository
+                .findByStatusWithDetails(LeaveStatus.PENDING).stream().map(LeaveRequestResponseDto::fromEntity).toList());
+        List<LeaveRequestResponseDto> after = measure("pending, DTO projection",
+                () -> leaveRequestRepository.findResponseDtosByStatus(LeaveStatus.PENDING));
+        assertEquals(before.size(), after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    private <T> List<T> measure(String label, Supplier<List<T>> call) {
+        return transactionTemplate.execute(status -> {
+            entityManager.clear();
+            statistics.clear();
+            List<T> result = call.get();
+            long statements = statistics.getPrepareStatementCount();
+            long entities = statistics.getEntityLoadCount();
+
+            long bytes = 0;
+            for (Map.Entry<Object, ?> entry : entityManager.unwrap(SessionImplementor.class)
+                    .getPersistenceContext().reentrantSafeEntityEntries()) {
+                bytes += approximateBytes(entry.getKey());
+            }
+            if (entities == 0) {
+                for (T dto : result) {
+                    bytes += approximateBytes(dto);
+                }
+            }
+
+            logger.debug("{}: {} statements, {} entities, {} rows, ~{} bytes",
+                    label, statements, entities, result.size(), bytes);
+            return result;
+        });
+    }
+
+    private long approximateBytes(Object value) {
+        if (value instanceof Employee e) {
+            return 8 * 4 + length(e.getName()) + length(e.getEmail()) + length(e.getDepartment())
+                    + length(e.getPastExperience()) + 8 * 4;
+        }
+        if (value instanceof LeaveType t) {
+            return 8 * 2 + length(t.getName());
+        }
+        if (value instanceof LeaveBalance) {
+            return 8 * 4;
+        }
+        if (value instanceof LeaveRequest r) {
+            return 8 * 7 + length(r.getReason());
+        }
+        if (value instanceof LeaveRequestResponseDto d) {
+            return 8 * 4 + length(d.employeeName()) + length(d.leaveTypeName()) + length(d.reason());
+        }
+        if (value instanceof LeaveBalanceResponseDto d) {
+            return 8 * 3 + length(d.leaveTypeName());
+        }
+        return 0;
+    }
+
+    private static long length(String value) {
+        return (value == null) ? 0 : value.length();
+    }
+}
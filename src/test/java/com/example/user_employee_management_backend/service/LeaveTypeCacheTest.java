@@ -0,0 +1,132 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveRequestDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeDto;
+import com.example.user_employee_management_backend.dto.LeaveTypeRequest;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "leave.types.miss-reload-interval-ms=60000")
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class LeaveTypeCacheTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2036, 2, 4);
+
+    @Autowired private LeaveTypeService leaveTypeService;
+    @Autowired private LeaveTypeCatalog leaveTypeCatalog;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveService leaveService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void submissionsReadLeaveTypesAndBalancesFromMemory() {
+        Employee employee = saveEmployee("type.cache@example.com");
+        LeaveTypeDto type = leaveTypeService.createLeaveType(new LeaveTypeRequest("Cached Leave", 5));
+
+        // Provisioned for existing employees on create.
+        assertEquals(5, leaveBalanceRepository.findRemainingDays(employee.getId(), type.id()).orElseThrow());
+        assertTrue(leaveTypeService.getLeaveTypes().contains(type));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LeaveRequest first = leaveService.submitLeaveRequest(employee.getId(),
+                new LeaveRequestDto(type.id(), MONDAY, MONDAY.plusDays(2), "first"));
+        statistics.clear();
+        leaveService.submitLeaveRequest(employee.getId(),
+                new LeaveRequestDto(type.id(), MONDAY.plusWeeks(1), MONDAY.plusWeeks(1), "second"));
+        // The employee row lock, the authoritative overlap query and the INSERT:
+        // the leave type and the balance come from the caches.
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        // Approving three days drops the cached balance (5 -> 2), so a three-day request is refused.
+        leaveService.updateRequestStatus(first.getId(), LeaveStatus.APPROVED);
+        IllegalStateException refused = assertThrows(IllegalStateException.class, () -> leaveService.submitLeaveRequest(
+                employee.getId(), new LeaveRequestDto(type.id(), MONDAY.plusWeeks(2), MONDAY.plusWeeks(2).plusDays(2), "third")));
+        assertEquals("Insufficient leave balance.", refused.getMessage());
+
+        assertTrue(counter("leaveTypes", "hit") > 0);
+        assertTrue(counter("leaveBalances", "hit") > 0);
+        assertTrue(counter("leaveBalances", "miss") > 0);
+    }
+
+    @Test
+    void editsAreVisibleImmediatelyAndUsedTypesCannotBeDeleted() {
+        Employee employee = saveEmployee("type.edit@example.com");
+        LeaveTypeDto type = leaveTypeService.createLeaveType(new LeaveTypeRequest("Editable Leave", 10));
+        assertEquals("Editable Leave", find(type.id()).name());
+
+        leaveTypeService.updateLeaveType(type.id(), new LeaveTypeRequest("Renamed Leave", 12));
+        assertEquals(new LeaveTypeDto(type.id(), "Renamed Leave", 12), find(type.id()));
+        assertThrows(IllegalArgumentException.class,
+                () -> leaveTypeService.createLeaveType(new LeaveTypeRequest("Renamed Leave", 1)));
+
+        LeaveTypeDto unused = leaveTypeService.createLeaveType(new LeaveTypeRequest("Unused Leave", 3));
+        leaveService.submitLeaveRequest(employee.getId(), new LeaveRequestDto(type.id(), MONDAY, MONDAY, "used"));
+        assertThrows(IllegalStateException.class, () -> leaveTypeService.deleteLeaveType(type.id()));
+
+        leaveTypeService.deleteLeaveType(unused.id());
+        assertTrue(leaveTypeService.getLeaveTypes().stream().noneMatch(t -> t.id().equals(unused.id())));
+        assertTrue(leaveBalanceRepository.findRemainingDays(employee.getId(), unused.id()).isEmpty());
+        assertTrue(leaveRequestRepository.existsByLeaveTypeId(type.id()));
+    }
+
+    @Test
+    void unknownIdsReloadTheCatalogAtMostOncePerInterval() {
+        leaveTypeCatalog.find(-1L); // may use this interval's reload
+        long version = leaveTypeCatalog.snapshot().version();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (long id = -2; id > -50; id--) {
+            assertTrue(leaveTypeCatalog.find(id).isEmpty());
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(version, leaveTypeCatalog.snapshot().version(), "the type list ETag is unchanged");
+
+        // Within the interval a type inserted behind the service's back stays unknown...
+        LeaveType inserted = new LeaveType();
+        inserted.setName("Inserted Leave");
+        inserted.setDefaultDays(2);
+        Long insertedId = leaveTypeRepository.save(inserted).getId();
+        assertTrue(leaveTypeCatalog.find(insertedId).isEmpty());
+        // ...until the next change event.
+        leaveTypeService.createLeaveType(new LeaveTypeRequest("Announced Leave", 2));
+        assertTrue(leaveTypeCatalog.find(insertedId).isPresent());
+    }
+
+    private LeaveTypeDto find(Long id) {
+        return leaveTypeService.getLeaveTypes().stream().filter(t -> t.id().equals(id)).findFirst().orElseThrow();
+    }
+
+    private Employee saveEmployee(String email) {
+        Employee employee = new Employee();
+        employee.setName(email);
+        employee.setEmail(email);
+        employee.setDepartment("Cache Dept");
+        return employeeRepository.save(employee);
+    }
+
+    private double counter(String cache, String result) {
+        FunctionCounter counter = meterRegistry.find("cache.gets").tag("cache", cache).tag("result", result).functionCounter();
+        assertNotNull(counter, "no cache.gets meter for " + cache);
+        return counter.count();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.LeaveRequestDto;
+import com.example.user_employee_management_backend.event.UserChangedEvent;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import com.example.user_employee_management_backend.security.JwtUtils;
+import com.example.user_employee_management_backend.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opens real SSE connections against the running server: many idle subscribers must not
+ * pin a servlet thread each, and a submitted leave request must reach the stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LiveUpdateStreamTest {
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateStreamTest.class);
+
+    // Twice Tomcat's default maximum of 200 worker threads: if a stream held a worker,
+    // the later connections could not even be accepted.
+    private static final int IDLE_SUBSCRIBERS = 400;
+
+    @LocalServerPort private int port;
+
+    @Autowired private LiveUpdateBroadcaster broadcaster;
+    @Autowired private LeaveService leaveService;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveBalanceProvisioningService provisioningService;
+
+    @Test
+    void streamsLeaveEventsToManyIdleSubscribers() throws Exception {
+        User manager = new User();
+        manager.setUsername("stream.manager@example.com");
+        manager.setEmail("stream.manager@example.com");
+        manager.setPassword("n/a");
+        manager.setRole(Role.ROLE_MANAGER);
+        manager.setEnabled(true);
+        manager = userRepository.save(manager);
+        UserDetailsImpl principal = UserDetailsImpl.build(manager);
+        String token = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Employee employee = new Employee();
+        employee.setName("Stream Employee");
+        employee.setEmail("stream.employee@example.com");
+        employee = employeeRepository.save(employee);
+        LeaveType leaveType = new LeaveType();
+        leaveType.setName("Stream Leave");
+        leaveType.setDefaultDays(10);
+        leaveType = leaveTypeRepository.save(leaveType);
+        provisioningService.provisionBalancesFor(List.of(employee.getId()));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/leave/requests/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+
+        int threadsBefore = Thread.activeCount();
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<InputStream>>> idle = new ArrayList<>();
+        for (int i = 0; i < IDLE_SUBSCRIBERS; i++) {
+            idle.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+        }
+        for (CompletableFuture<HttpResponse<InputStream>> response : idle) {
+            assertEquals(200, response.get(30, TimeUnit.SECONDS).statusCode());
+        }
+        HttpResponse<InputStream> watched = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, watched.statusCode());
+        int threadsAfter = Thread.activeCount();
+
+        logger.debug("{} open streams in {} ms, live threads {} -> {}", broadcaster.subscriberCount(),
+                (System.nanoTime() - start) / 1_000_000, threadsBefore, threadsAfter);
+        assertTrue(broadcaster.subscriberCount() >= IDLE_SUBSCRIBERS + 1);
+        assertTrue(threadsAfter - threadsBefore < IDLE_SUBSCRIBERS, "streams must not hold a thread each");
+
+        LeaveRequest submitted = leaveService.submitLeaveRequest(employee.getId(), new LeaveRequestDto(
+                leaveType.getId(), LocalDate.of(2033, 5, 2), LocalDate.of(2033, 5, 3), "Streamed"));
+
+        CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(watched.body(), StandardCharsets.UTF_8))) {
+                String line;
+                boolean leaveEvent = false;
+                while ((line = reader.readLine()) != null) {
+                    if (line.equals("event:leave-request")) {
+                        leaveEvent = true;
+                    } else if (leaveEvent && line.startsWith("data:")) {
+                        return line.substring("data:".length());
+                    }
+                }
+                return null;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long sent = System.nanoTime();
+        String data = received.get(30, TimeUnit.SECONDS);
+        logger.debug("Leave event received {} ms after commit", (System.nanoTime() - sent) / 1_000_000);
+        assertNotNull(data);
+        assertTrue(data.contains("\"type\":\"SUBMITTED\""), data);
+        assertTrue(data.contains("\"requestId\":" + submitted.getId()), data);
+
+        for (CompletableFuture<HttpResponse<InputStream>> response : idle) {
+            response.get().body().close();
+        }
+        watched.body().close();
+    }
+
+    @Test
+    void aStalledSubscriberIsDisconnectedWithoutDelayingTheOthers() throws Exception {
+        int events = 300; // more than the default buffer of 256
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger stalledSends = new AtomicInteger();
+        SseEmitter stalled = new SseEmitter(0L) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                // The first event (sent on subscribe) goes through; every later write hangs.
+                if (stalledSends.incrementAndGet() > 1) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        CountDownLatch delivered = new CountDownLatch(events + 1);
+        SseEmitter healthy = new SseEmitter(0L) {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.countDown();
+            }
+        };
+        long overflowedBefore = broadcaster.overflowedCount();
+        broadcaster.subscribe(LiveUpdateBroadcaster.Channel.ADMIN_DASHBOARD, null, stalled);
+        broadcaster.subscribe(LiveUpdateBroadcaster.Channel.ADMIN_DASHBOARD, null, healthy);
+        try {
+            for (int i = 0; i < events; i++) {
+                broadcaster.onUserChanged(new UserChangedEvent(null, new UserChangedEvent.Snapshot(null, Role.ROLE_HR, true, false)));
+            }
+            assertTrue(delivered.await(10, TimeUnit.SECONDS), "the healthy subscriber got every event");
+            assertEquals(overflowedBefore + 1, broadcaster.overflowedCount());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.user_employee_management_backend.service;
+
+import com.example.user_employee_management_backend.dto.CursorPageDto;
+import com.example.user_employee_management_backend.dto.LeaveRequestResponseDto;
+import com.example.user_employee_management_backend.model.*;
+import com.example.user_employee_management_backend.repository.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the pending queue page by page and checks it against the unpaginated listing.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PendingLeaveQueueTest {
+
+    private static final String DEPARTMENT = "Queue Dept";
+    private static final LocalDate BASE = LocalDate.of(2032, 1, 1);
+
+    @Autowired private LeaveService leaveService;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private LeaveTypeRepository leaveTypeRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+
+    private LeaveType annual;
+
+    @BeforeAll
+    void seed() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee();
+            employee.setName("Queue " + i);
+            employee.setEmail("queue" + i + "@example.com");
+            employee.setDepartment(i == 0 ? "Other Dept" : DEPARTMENT);
+            employees.add(employeeRepository.save(employee));
+        }
+        annual = new LeaveType();
+        annual.setName("Queue Annual");
+        annual.setDefaultDays(20);
+        annual = leaveTypeRepository.save(annual);
+        LeaveType sick = new LeaveType();
+        sick.setName("Queue Sick");
+        sick.setDefaultDays(10);
+        sick = leaveTypeRepository.save(sick);
+
+        // Several requests share a start date, so the id tie-breaker matters.
+        List<LeaveRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            LocalDate start = BASE.plusDays(i / 4);
+            requests.add(new LeaveRequest(employees.get(i % 3), (i % 2 == 0) ? annual : sick, start, start.plusDays(1),
+                    "Queue " + i, (i % 10 == 9) ? LeaveStatus.APPROVED : LeaveStatus.PENDING));
+        }
+        leaveRequestRepository.saveAll(requests);
+    }
+
+    @Test
+    void pagesCoverTheFilteredQueueInStartDateOrder() {
+        List<LeaveRequestResponseDto> expected = leaveService.getPendingRequests().stream()
+                .filter(r -> !r.startDate().isBefore(BASE))
+                .filter(r -> r.employeeName().equals("Queue 1") || r.employeeName().equals("Queue 2"))
+                .filter(r -> r.leaveTypeName().equals("Queue Annual"))
+                .sorted(Comparator.comparing(LeaveRequestResponseDto::startDate).thenComparing(LeaveRequestResponseDto::id))
+                .toList();
+
+        List<LeaveRequestResponseDto> paged = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPageDto<LeaveRequestResponseDto> page = leaveService.scrollPendingRequests(
+                    cursor, 3, DEPARTMENT, annual.getId(), BASE, null, pages == 0);
+            if (pages == 0) {
+                assertEquals(expected.size(), page.totalElements());
+            } else {
+                assertNull(page.totalElements());
+            }
+            paged.addAll(page.content());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, paged);
+        assertEquals((expected.size() + 2) / 3, pages);
+    }
+
+    @Test
+    void dateWindowKeepsOverlappingRequests() {
+        LocalDate day = BASE.plusDays(5);
+        CursorPageDto<LeaveRequestResponseDto> page = leaveService.scrollPendingRequests(
+                "", 100, null, null, day, day, true);
+        assertFalse(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        for (LeaveRequestResponseDto request : page.content()) {
+            assertFalse(request.startDate().isAfter(day));
+            assertFalse(request.endDate().isBefore(day));
+        }
+    }
+
+    @Test
+    void rejectsForeignCursors() {
+        assertThrows(IllegalArgumentException.class,
+                () -> leaveService.scrollPendingRequests("not-a-cursor", 10, null, null, null, null, false));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.user_employee_management_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the prefix-sum lookups against a day-by-day count over random ranges.
+ */
+class WorkingDayCalendarTest {
+
+    private static final LocalDate FIXED_HOLIDAY = LocalDate.of(2030, 4, 19);
+
+    private final WorkingDayCalendar calendar = newCalendar();
+
+    static WorkingDayCalendar newCalendar() {
+        WorkingDayCalendar calendar = new WorkingDayCalendar();
+        ReflectionTestUtils.setField(calendar, "weekendDays", List.of("SATURDAY", "SUNDAY"));
+        ReflectionTestUtils.setField(calendar, "holidays", List.of(FIXED_HOLIDAY.toString()));
+        ReflectionTestUtils.setField(calendar, "recurringHolidays", List.of("01-01", "12-25"));
+        ReflectionTestUtils.setField(calendar, "cachedYears", 50);
+        ReflectionTestUtils.invokeMethod(calendar, "init");
+        return calendar;
+    }
+
+    @Test
+    void matchesDayByDayCounting() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2027, 1, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate from = origin.plusDays(random.nextInt(3_000));
+            LocalDate to = from.plusDays(random.nextInt(1_500));
+            assertEquals(naive(from, to), calendar.workingDaysBetween(from, to), from + ".." + to);
+        }
+    }
+
+    @Test
+    void skipsWeekendsAndHolidays() {
+        assertFalse(calendar.isWorkingDay(FIXED_HOLIDAY));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2031, 12, 25)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2031, 4, 18)));
+        // Friday 2030-04-19 is a holiday: Thursday to Monday is two working days.
+        assertEquals(2, calendar.workingDaysBetween(LocalDate.of(2030, 4, 18), LocalDate.of(2030, 4, 22)));
+        assertEquals(1, calendar.workingDaysBetween(LocalDate.of(2030, 4, 18), LocalDate.of(2030, 4, 18)));
+        assertEquals(0, calendar.workingDaysBetween(LocalDate.of(2030, 4, 20), LocalDate.of(2030, 4, 21)));
+        assertEquals(0, calendar.workingDaysBetween(LocalDate.of(2030, 4, 22), LocalDate.of(2030, 4, 18)));
+    }
+
+    @Test
+    void distantYearsAreNotCached() {
+        int before = calendar.cachedYearCount();
+        LocalDate distant = LocalDate.of(LocalDate.now().getYear() + 5_000, 3, 1);
+        assertEquals(naive(distant, distant.plusDays(400)), calendar.workingDaysBetween(distant, distant.plusDays(400)));
+        assertEquals(naive(LocalDate.MAX.minusDays(10), LocalDate.MAX.minusDays(1)),
+                calendar.workingDaysBetween(LocalDate.MAX.minusDays(10), LocalDate.MAX.minusDays(1)));
+        calendar.workingDaysBetween(LocalDate.MAX, LocalDate.MAX); // The last representable year.
+        assertEquals(before, calendar.cachedYearCount());
+    }
+
+    private static long naive(LocalDate from, LocalDate to) {
+        long days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            MonthDay monthDay = MonthDay.from(day);
+            boolean holiday = day.equals(FIXED_HOLIDAY) || monthDay.equals(MonthDay.of(1, 1)) || monthDay.equals(MonthDay.of(12, 25));
+            if (!weekend && !holiday) {
+                days++;
+            }
+        }
+        return days;
+    }
+}